@@ -0,0 +1,208 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * BatchedSearch looks up many keys in the same sorted array at once.
+ *
+ * WHY BATCH?
+ * ----------
+ * Calling binarySearch once per key serializes the memory stalls: each probe has to wait for the
+ * previous probe's cache miss, and the next search only starts when this one has finished.
+ * searchAll(sorted, queries) does better in three ways:
+ * 1. INTERLEAVING: it runs LANES searches in lockstep. All searches over the same array take the
+ *    same number of steps (the remaining length halves each time, whatever the key), so one loop
+ *    can advance all of them together. Their probes are independent, so the CPU can have all of
+ *    their cache misses in flight at the same time instead of one after another.
+ * 2. SORTED QUERIES: if the queries are already sorted, each answer is at or after the previous
+ *    one. A merge-style sweep moves forward through the array and gallops (1, 2, 4, 8, ... steps)
+ *    to skip quickly over long gaps between neighbouring queries.
+ * 3. PARALLELISM: very large query sets are split into chunks that run on a ForkJoinPool.
+ *
+ * Like binarySearch, each result is the index of the key or -1. With duplicate keys in the array,
+ * the index of the FIRST copy is returned.
+ */
+public class BatchedSearch {
+
+    /** Number of searches advanced together in the interleaved loop. */
+    private static final int LANES = 8;
+
+    /** Query sets at least this large are split across the common ForkJoinPool. */
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /**
+     * Finds every query in the sorted array.
+     *
+     * @param sorted  A sorted array of integers (in ascending order).
+     * @param queries The values to search for.
+     * @return results[i] = index of queries[i] in 'sorted', or -1 if it is not present.
+     */
+    public static int[] searchAll(int[] sorted, int[] queries) {
+        int[] results = new int[queries.length];
+        if (queries.length >= PARALLEL_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(new SearchTask(sorted, queries, results, 0, queries.length));
+        } else {
+            searchRange(sorted, queries, results, 0, queries.length);
+        }
+        return results;
+    }
+
+    /** Answers queries[from..to), choosing the sweep if that slice of queries is sorted. */
+    private static void searchRange(int[] sorted, int[] queries, int[] results, int from, int to) {
+        if (isSorted(queries, from, to)) {
+            sweepSorted(sorted, queries, results, from, to);
+        } else {
+            searchInterleaved(sorted, queries, results, from, to);
+        }
+    }
+
+    private static boolean isSorted(int[] arr, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            if (arr[i - 1] > arr[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Branch-free lower-bound searches, LANES at a time in lockstep.
+     */
+    private static void searchInterleaved(int[] sorted, int[] queries, int[] results, int from, int to) {
+        int n = sorted.length;
+        if (n == 0) {
+            Arrays.fill(results, from, to, -1);
+            return;
+        }
+        int[] base = new int[LANES];
+        int[] key = new int[LANES];
+        int i = from;
+        for (; i + LANES <= to; i += LANES) {
+            for (int lane = 0; lane < LANES; lane++) {
+                base[lane] = 0;
+                key[lane] = queries[i + lane];
+            }
+            // The answer of every lane lies in [base, base + length]; 'length' is the same for all lanes.
+            for (int length = n; length > 1; ) {
+                int half = length >>> 1;
+                for (int lane = 0; lane < LANES; lane++) {
+                    // Independent loads: the CPU can overlap the cache misses of all lanes.
+                    base[lane] += sorted[base[lane] + half - 1] < key[lane] ? half : 0;
+                }
+                length -= half;
+            }
+            for (int lane = 0; lane < LANES; lane++) {
+                results[i + lane] = finish(sorted, base[lane], key[lane]);
+            }
+        }
+        // Fewer than LANES queries left: search them one at a time.
+        for (; i < to; i++) {
+            int q = queries[i];
+            int b = 0;
+            for (int length = n; length > 1; ) {
+                int half = length >>> 1;
+                b += sorted[b + half - 1] < q ? half : 0;
+                length -= half;
+            }
+            results[i] = finish(sorted, b, q);
+        }
+    }
+
+    /** Turns the final base of a lower-bound search into binarySearch's index-or-minus-one result. */
+    private static int finish(int[] sorted, int base, int key) {
+        int position = base + (sorted[base] < key ? 1 : 0);
+        return position < sorted.length && sorted[position] == key ? position : -1;
+    }
+
+    /**
+     * Merge-style sweep for sorted queries: the lower bound only moves forward, and each move
+     * gallops before binary searching, costing O(log gap) instead of O(log n) per query.
+     */
+    private static void sweepSorted(int[] sorted, int[] queries, int[] results, int from, int to) {
+        int n = sorted.length;
+        int position = 0;   // Lower bound of the previous query: everything before it is smaller.
+        for (int i = from; i < to; i++) {
+            int q = queries[i];
+            if (position < n && sorted[position] < q) {
+                // Gallop: find a step where sorted[position + step] >= q (or the end).
+                int low = position;
+                int step = 1;
+                while (low + step < n && sorted[low + step] < q) {
+                    low += step;
+                    step <<= 1;
+                }
+                // Now sorted[low] < q and the lower bound is in (low, min(low + step, n)].
+                int high = Math.min(low + step, n);
+                while (high - low > 1) {
+                    int mid = (low + high) >>> 1;
+                    if (sorted[mid] < q) {
+                        low = mid;
+                    } else {
+                        high = mid;
+                    }
+                }
+                position = high;
+            }
+            results[i] = position < n && sorted[position] == q ? position : -1;
+        }
+    }
+
+    /** Fork/join task that splits the query range until it is small enough to search directly. */
+    private static final class SearchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] sorted;
+        private final int[] queries;
+        private final int[] results;
+        private final int from;
+        private final int to;
+
+        SearchTask(int[] sorted, int[] queries, int[] results, int from, int to) {
+            this.sorted = sorted;
+            this.queries = queries;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                searchRange(sorted, queries, results, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SearchTask(sorted, queries, results, from, mid),
+                    new SearchTask(sorted, queries, results, mid, to));
+        }
+    }
+
+    public static void main(String[] args) {
+        // -------------------------------------------------------------------------------------
+        // EXAMPLE 1: Unsorted Queries (interleaved searches)
+        // -------------------------------------------------------------------------------------
+        int[] sortedNumbers = {1, 3, 5, 7, 9, 11, 13, 15, 17, 19};
+        int[] queries = {7, 2, 19, 1, 20, 11, 4, 13, 15};
+        System.out.println("Queries: " + Arrays.toString(queries));
+        System.out.println("Results: " + Arrays.toString(searchAll(sortedNumbers, queries)));
+        // Expected: [3, -1, 9, 0, -1, 5, -1, 6, 7]
+
+        // -------------------------------------------------------------------------------------
+        // EXAMPLE 2: Sorted Queries (merge-style sweep)
+        // -------------------------------------------------------------------------------------
+        int[] sortedQueries = {0, 3, 4, 9, 17, 18, 19};
+        System.out.println("\nSorted queries: " + Arrays.toString(sortedQueries));
+        System.out.println("Results:        " + Arrays.toString(searchAll(sortedNumbers, sortedQueries)));
+        // Expected: [-1, 1, -1, 4, 8, -1, 9]
+
+        // -------------------------------------------------------------------------------------
+        // ADVANCED NOTES:
+        // -------------------------------------------------------------------------------------
+        // - The interleaved loop does the same number of comparisons as binary search; it is
+        //   faster only because several cache misses are waited for at the same time.
+        // - For m sorted queries the sweep costs O(m log(n / m)): close to a linear merge when
+        //   m is about n, and close to m binary searches when m is small.
+    }
+}
@@ -0,0 +1,289 @@
+package algorithms;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * BigIntegerMath computes Fibonacci numbers and factorials of any size, fast.
+ *
+ * WHY NOT THE RECURSIVE VERSIONS?
+ * -------------------------------
+ * DetailedRecursionExample.fibonacci makes O(2^n) calls, and both of its methods return an int:
+ * fibonacci overflows past F(46) and factorial past 12!. This class uses BigInteger and better
+ * algorithms:
+ *
+ * FAST DOUBLING (Fibonacci):
+ * --------------------------
+ * From F(k) and F(k+1) we can jump straight to F(2k) and F(2k+1):
+ *   F(2k)     = F(k) * (2 * F(k+1) - F(k))
+ *   F(2k + 1) = F(k)^2 + F(k+1)^2
+ * Walking over the bits of n from the top, each bit doubles k (and adds one if the bit is set),
+ * so F(n) needs only O(log n) steps of three multiplications each.
+ *
+ * BINARY SPLITTING (factorial):
+ * -----------------------------
+ * Multiplying 1 * 2 * 3 * ... * n left to right multiplies a huge number by a small one n times.
+ * Splitting the range in halves, product(lo, hi) = product(lo, mid) * product(mid + 1, hi),
+ * multiplies numbers of similar size instead, where BigInteger's Karatsuba and Toom-Cook
+ * multiplication pay off. The two halves are independent, so large ranges are computed in
+ * parallel on a ForkJoinPool. The factors of two are removed first and added back with one shift.
+ *
+ * MODULAR VARIANTS AND CACHING:
+ * -----------------------------
+ * fibonacciMod and factorialMod keep every intermediate value below the modulus, so they work
+ * for astronomically large n without BigInteger. Recent BigInteger results are kept in small
+ * LRU caches (CACHE_CAPACITY entries each), because a pipeline often asks for the same n again.
+ */
+public class BigIntegerMath {
+
+    /** Number of recent results kept per cache. */
+    public static final int CACHE_CAPACITY = 64;
+
+    /** Factorial ranges with more numbers than this are split across the ForkJoinPool. */
+    private static final int PARALLEL_THRESHOLD = 1 << 12;
+
+    /** Ranges with at most this many numbers are multiplied with a simple loop. */
+    private static final int LEAF_SIZE = 16;
+
+    private static final Map<Integer, BigInteger> FIBONACCI_CACHE = lruCache();
+    private static final Map<Integer, BigInteger> FACTORIAL_CACHE = lruCache();
+
+    /** A synchronized map that drops its least recently used entry once it holds CACHE_CAPACITY entries. */
+    private static Map<Integer, BigInteger> lruCache() {
+        return Collections.synchronizedMap(new LinkedHashMap<Integer, BigInteger>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, BigInteger> eldest) {
+                return size() > CACHE_CAPACITY;
+            }
+        });
+    }
+
+    /**
+     * Computes the n-th Fibonacci number with fast doubling: O(log n) multiplications.
+     *
+     * @param n The index in the sequence (n >= 0); F(0) = 0, F(1) = 1.
+     * @return F(n).
+     */
+    public static BigInteger fibonacci(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must be non-negative: " + n);
+        }
+        BigInteger cached = FIBONACCI_CACHE.get(n);
+        if (cached != null) {
+            return cached;
+        }
+        BigInteger a = BigInteger.ZERO;  // F(k)
+        BigInteger b = BigInteger.ONE;   // F(k + 1)
+        // Process the bits of n from the most significant one down; k starts at 0.
+        for (int bit = Integer.highestOneBit(n); bit != 0; bit >>>= 1) {
+            BigInteger c = a.multiply(b.shiftLeft(1).subtract(a));   // F(2k)
+            BigInteger d = a.multiply(a).add(b.multiply(b));           // F(2k + 1)
+            if ((n & bit) == 0) {
+                a = c;                                                 // k = 2k
+                b = d;
+            } else {
+                a = d;                                                 // k = 2k + 1
+                b = c.add(d);
+            }
+        }
+        FIBONACCI_CACHE.put(n, a);
+        return a;
+    }
+
+    /**
+     * Computes F(n) mod m with fast doubling, using only long arithmetic.
+     *
+     * @param n The index in the sequence (n >= 0).
+     * @param m The modulus (m >= 1).
+     * @return F(n) mod m.
+     */
+    public static long fibonacciMod(long n, long m) {
+        if (n < 0 || m < 1) {
+            throw new IllegalArgumentException("Need n >= 0 and m >= 1, got n = " + n + ", m = " + m);
+        }
+        long a = 0;
+        long b = 1 % m;
+        for (long bit = Long.highestOneBit(n); bit != 0; bit >>>= 1) {
+            long twoBMinusA = Math.floorMod(addMod(b, b, m) - a, m);
+            long c = mulMod(a, twoBMinusA, m);
+            long d = addMod(mulMod(a, a, m), mulMod(b, b, m), m);
+            if ((n & bit) == 0) {
+                a = c;
+                b = d;
+            } else {
+                a = d;
+                b = addMod(c, d, m);
+            }
+        }
+        return a;
+    }
+
+    /**
+     * Computes n! with binary splitting, in parallel for large n.
+     *
+     * @param n The number (n >= 0).
+     * @return n!.
+     */
+    public static BigInteger factorial(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must be non-negative: " + n);
+        }
+        BigInteger cached = FACTORIAL_CACHE.get(n);
+        if (cached != null) {
+            return cached;
+        }
+        BigInteger oddPart = n < 2 ? BigInteger.ONE
+                : n - 1 > PARALLEL_THRESHOLD ? ForkJoinPool.commonPool().invoke(new ProductTask(2, n))
+                : oddProduct(2, n);
+        // Every number contributed its factors of two to the shift: n! has n - bitCount(n) of them.
+        BigInteger result = oddPart.shiftLeft(n - Integer.bitCount(n));
+        FACTORIAL_CACHE.put(n, result);
+        return result;
+    }
+
+    /**
+     * Computes n! mod m. Once n >= m the product contains the factor m, so the result is 0;
+     * otherwise the loop runs n times with every intermediate value below m.
+     *
+     * @param n The number (n >= 0).
+     * @param m The modulus (m >= 1), typically a prime p.
+     * @return n! mod m.
+     */
+    public static long factorialMod(long n, long m) {
+        if (n < 0 || m < 1) {
+            throw new IllegalArgumentException("Need n >= 0 and m >= 1, got n = " + n + ", m = " + m);
+        }
+        if (n >= m) {
+            return 0;
+        }
+        long result = 1 % m;
+        for (long i = 2; i <= n; i++) {
+            result = mulMod(result, i, m);
+        }
+        return result;
+    }
+
+    /** Clears the caches of recent fibonacci and factorial results. */
+    public static void clearCache() {
+        FIBONACCI_CACHE.clear();
+        FACTORIAL_CACHE.clear();
+    }
+
+    /** (a + b) mod m for 0 <= a, b < m, without overflowing even when m is close to Long.MAX_VALUE. */
+    private static long addMod(long a, long b, long m) {
+        return a >= m - b ? a - (m - b) : a + b;
+    }
+
+    /**
+     * (a * b) mod m for 0 <= a, b < m. Uses one multiplication when both factors are below 2^31
+     * (the product then fits in a long), and otherwise double-and-add with addMod.
+     */
+    private static long mulMod(long a, long b, long m) {
+        if (a < 1L << 31 && b < 1L << 31) {
+            return a * b % m;
+        }
+        long result = 0;
+        while (b > 0) {
+            if ((b & 1) != 0) {
+                result = addMod(result, a, m);
+            }
+            a = addMod(a, a, m);
+            b >>>= 1;
+        }
+        return result;
+    }
+
+    /**
+     * Product of the odd parts of lo..hi (each number with its factors of two removed),
+     * by sequential binary splitting.
+     */
+    private static BigInteger oddProduct(int lo, int hi) {
+        if (hi - lo < LEAF_SIZE) {
+            BigInteger product = BigInteger.ONE;
+            long small = 1;
+            for (int i = lo; i <= hi; i++) {
+                long odd = i >>> Integer.numberOfTrailingZeros(i);
+                if (small > Long.MAX_VALUE / odd) {
+                    // The long would overflow: move it into the BigInteger and start over.
+                    product = product.multiply(BigInteger.valueOf(small));
+                    small = 1;
+                }
+                small *= odd;
+            }
+            return product.multiply(BigInteger.valueOf(small));
+        }
+        int mid = (lo + hi) >>> 1;
+        return oddProduct(lo, mid).multiply(oddProduct(mid + 1, hi));
+    }
+
+    /** Fork/join version of oddProduct for large ranges. */
+    private static final class ProductTask extends RecursiveTask<BigInteger> {
+        private static final long serialVersionUID = 1L;
+
+        private final int lo;
+        private final int hi;
+
+        ProductTask(int lo, int hi) {
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            if (hi - lo < PARALLEL_THRESHOLD) {
+                return oddProduct(lo, hi);
+            }
+            int mid = (lo + hi) >>> 1;
+            ProductTask left = new ProductTask(lo, mid);
+            left.fork();
+            BigInteger right = new ProductTask(mid + 1, hi).compute();
+            return left.join().multiply(right);
+        }
+    }
+
+    public static void main(String[] args) {
+        // -------------------------------------------------------------------------------------
+        // EXAMPLE 1: Numbers Far Beyond int and long
+        // -------------------------------------------------------------------------------------
+        System.out.println("F(100) = " + fibonacci(100));   // 354224848179261915075
+        System.out.println("30! = " + factorial(30));       // 265252859812191058636308480000000
+
+        // -------------------------------------------------------------------------------------
+        // EXAMPLE 2: Really Large n
+        // -------------------------------------------------------------------------------------
+        long start = System.nanoTime();
+        BigInteger bigFib = fibonacci(1_000_000);
+        long fibMillis = (System.nanoTime() - start) / 1_000_000;
+        start = System.nanoTime();
+        BigInteger bigFact = factorial(100_000);
+        long factMillis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("\nF(1,000,000) has " + bigFib.toString().length() + " digits (" + fibMillis + " ms)");
+        System.out.println("100,000! has " + bigFact.bitLength() + " bits (" + factMillis + " ms)");
+        start = System.nanoTime();
+        fibonacci(1_000_000);
+        System.out.println("F(1,000,000) again, from the cache: " + (System.nanoTime() - start) / 1_000 + " us");
+
+        // -------------------------------------------------------------------------------------
+        // EXAMPLE 3: Modular Variants
+        // -------------------------------------------------------------------------------------
+        long p = 1_000_000_007L;
+        System.out.println("\nF(10^18) mod 1e9+7 = " + fibonacciMod(1_000_000_000_000_000_000L, p));
+        System.out.println("100000! mod 1e9+7 = " + factorialMod(100_000, p));
+        System.out.println("Check: " + bigFact.mod(BigInteger.valueOf(p)));
+
+        // -------------------------------------------------------------------------------------
+        // ADVANCED NOTES:
+        // -------------------------------------------------------------------------------------
+        // - For large n the cost is dominated by the last few multiplications of huge numbers,
+        //   so fast doubling and binary splitting are about as fast as the multiplication itself.
+        // - The caches are bounded by count, not by size: F(10^7) alone takes about 0.9 MB.
+        // - For n! mod p with a prime p and n close to p, Wilson's theorem ((p - 1)! = -1 mod p)
+        //   can be used to count down from p - 1 instead.
+    }
+}
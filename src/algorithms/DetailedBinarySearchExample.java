@@ -65,6 +65,75 @@ public class DetailedBinarySearchExample {
         return -1;
     }
 
+    /**
+     * Finds the first position whose element is not less than 'target' (the "insertion point").
+     *
+     * Unlike binarySearch, this works on a half-open interval [left, right): 'right' starts at
+     * arr.length, so the answer can be "past the end" when every element is smaller.
+     *
+     * @param arr    A sorted array of integers (in ascending order).
+     * @param target The value to search for.
+     * @return The index of the first element >= target, or arr.length if there is none.
+     */
+    public static int lowerBound(int[] arr, int target) {
+        int left = 0;
+        int right = arr.length;
+        while (left < right) {
+            int mid = left + (right - left) / 2;
+            if (arr[mid] < target) {
+                left = mid + 1;   // arr[mid] and everything before it is too small.
+            } else {
+                right = mid;      // arr[mid] is a candidate; keep it in the interval.
+            }
+        }
+        return left;
+    }
+
+    /**
+     * Finds the first position whose element is greater than 'target'.
+     *
+     * @param arr    A sorted array of integers (in ascending order).
+     * @param target The value to search for.
+     * @return The index of the first element > target, or arr.length if there is none.
+     */
+    public static int upperBound(int[] arr, int target) {
+        int left = 0;
+        int right = arr.length;
+        while (left < right) {
+            int mid = left + (right - left) / 2;
+            if (arr[mid] <= target) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        return left;
+    }
+
+    /**
+     * Finds all copies of 'target': they occupy arr[range[0] .. range[1] - 1].
+     * If the target is absent, both ends are equal (the insertion point).
+     *
+     * @param arr    A sorted array of integers (in ascending order).
+     * @param target The value to search for.
+     * @return {lowerBound(arr, target), upperBound(arr, target)}.
+     */
+    public static int[] equalRange(int[] arr, int target) {
+        return new int[] {lowerBound(arr, target), upperBound(arr, target)};
+    }
+
+    /**
+     * Counts the elements in the closed range [low, high] with two binary searches.
+     *
+     * @param arr  A sorted array of integers (in ascending order).
+     * @param low  The smallest value to count.
+     * @param high The largest value to count.
+     * @return The number of elements e with low <= e <= high (0 if low > high).
+     */
+    public static int countInRange(int[] arr, int low, int high) {
+        return low > high ? 0 : upperBound(arr, high) - lowerBound(arr, low);
+    }
+
     public static void main(String[] args) {
         // -------------------------------------------------------------------------------------
         // EASY TOPIC: Using Binary Search on a Sorted Array
@@ -94,5 +163,20 @@ public class DetailedBinarySearchExample {
         } else {
             System.out.println(target + " was not found in the array.");
         }
+
+        // -------------------------------------------------------------------------------------
+        // INTERMEDIATE TOPIC: Range Queries (lower bound, upper bound, equal range, counting)
+        // -------------------------------------------------------------------------------------
+        // With duplicates, binarySearch returns SOME copy. The bound searches answer more precise
+        // questions: where does the first copy start, where does the last one end, and how many
+        // elements fall between two values.
+        int[] withDuplicates = {1, 3, 3, 3, 5, 7, 9};
+        int[] range = equalRange(withDuplicates, 3);
+        System.out.println("\nLower bound of 3: " + lowerBound(withDuplicates, 3));              // 1
+        System.out.println("Upper bound of 3: " + upperBound(withDuplicates, 3));                // 4
+        System.out.println("Equal range of 3: [" + range[0] + ", " + range[1] + ")");            // [1, 4)
+        System.out.println("Insertion point of 6: " + lowerBound(withDuplicates, 6));            // 5
+        System.out.println("Elements in [2, 7]: " + countInRange(withDuplicates, 2, 7));         // 5
+        // See MappedSortedFile for the same queries on a sorted file that is never loaded onto the heap.
     }
 }
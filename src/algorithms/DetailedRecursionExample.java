@@ -105,5 +105,9 @@ public class DetailedRecursionExample {
         //
         // 3. Always ensure you have a well-defined base case in your recursive functions to prevent infinite recursion,
         //    which can lead to a stack overflow error.
+        //
+        // 4. Both methods return an int, so factorial overflows past 12! and fibonacci past F(46).
+        //    BigIntegerMath computes them for large n with BigInteger: fast-doubling Fibonacci in
+        //    O(log n) multiplications and a parallel binary-splitting factorial.
     }
 }
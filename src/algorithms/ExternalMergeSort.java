@@ -0,0 +1,347 @@
+package algorithms;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * ExternalMergeSort demonstrates how to sort a binary file of ints that is larger than the heap.
+ *
+ * WHAT IS AN EXTERNAL SORT?
+ * -------------------------
+ * The sorts in SortingAlgorithms need the whole array in memory. When the data does not fit,
+ * we sort it in two phases:
+ * 1. RUN CREATION: read the file one chunk at a time (a chunk is small enough to fit in memory),
+ *    sort the chunk with the in-memory merge sort and write it to a temporary "run" file.
+ * 2. K-WAY MERGE: open up to 'fanIn' runs at once, each through a small read buffer, and keep
+ *    the current head of every run in a min-heap. Repeatedly take the smallest head, write it out
+ *    and advance that run. If there are more runs than 'fanIn', several merge rounds are needed,
+ *    each one producing fewer, longer runs.
+ *
+ * FILE FORMAT:
+ * ------------
+ * The input and output are raw 4-byte ints with no header. The default byte order is big-endian,
+ * which is what DataOutputStream.writeInt() produces.
+ *
+ * MEMORY USE:
+ * -----------
+ * About 8 bytes per int of the chunk (the chunk plus the merge sort buffer), plus one
+ * I/O buffer per open run during the merge. The chunks are read through memory-mapped
+ * FileChannel regions, so the input file is never copied into a heap byte[] first.
+ */
+public class ExternalMergeSort {
+
+    /** Default number of ints sorted in memory per run (4 MB of data). */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    /** Default number of runs merged at the same time. */
+    public static final int DEFAULT_FAN_IN = 64;
+
+    /** Size of the read buffer of each run and of the output write buffer. */
+    private static final int IO_BUFFER_BYTES = 1 << 16;
+
+    /**
+     * Sorts a file of big-endian ints with the default chunk size and fan-in.
+     *
+     * @param input  The unsorted input file.
+     * @param output The file that receives the sorted ints (overwritten if it exists).
+     * @throws IOException If reading, writing or creating the temporary run files fails.
+     */
+    public static void sort(Path input, Path output) throws IOException {
+        sort(input, output, DEFAULT_CHUNK_SIZE, DEFAULT_FAN_IN, ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Sorts a file of big-endian ints.
+     *
+     * @param input     The unsorted input file.
+     * @param output    The file that receives the sorted ints (overwritten if it exists).
+     * @param chunkSize Number of ints sorted in memory per run.
+     * @param fanIn     Maximum number of runs merged at the same time (at least 2).
+     * @throws IOException If reading, writing or creating the temporary run files fails.
+     */
+    public static void sort(Path input, Path output, int chunkSize, int fanIn) throws IOException {
+        sort(input, output, chunkSize, fanIn, ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Sorts a file of ints stored in the given byte order.
+     *
+     * @param input     The unsorted input file.
+     * @param output    The file that receives the sorted ints (overwritten if it exists).
+     * @param chunkSize Number of ints sorted in memory per run.
+     * @param fanIn     Maximum number of runs merged at the same time (at least 2).
+     * @param order     Byte order of the ints in the input; the output uses the same order.
+     * @throws IOException If reading, writing or creating the temporary run files fails.
+     */
+    public static void sort(Path input, Path output, int chunkSize, int fanIn, ByteOrder order) throws IOException {
+        if (chunkSize < 1 || chunkSize > Integer.MAX_VALUE / Integer.BYTES) {
+            throw new IllegalArgumentException("chunkSize out of range: " + chunkSize);
+        }
+        if (fanIn < 2) {
+            throw new IllegalArgumentException("fanIn must be at least 2: " + fanIn);
+        }
+        Path tempDir = Files.createTempDirectory(output.toAbsolutePath().getParent(), "extsort");
+        List<Path> runs = new ArrayList<>();
+        try {
+            // Phase 1: sorted runs.
+            runs.addAll(createRuns(input, tempDir, chunkSize, order));
+
+            // Phase 2: merge 'fanIn' runs at a time until at most one group is left.
+            while (runs.size() > fanIn) {
+                List<Path> nextRound = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += fanIn) {
+                    List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                    Path merged = Files.createTempFile(tempDir, "run", ".bin");
+                    mergeRuns(group, merged, order);
+                    for (Path run : group) {
+                        Files.delete(run);
+                    }
+                    nextRound.add(merged);
+                }
+                runs = nextRound;
+            }
+
+            if (runs.size() == 1) {
+                // A single run is already the sorted file.
+                Files.move(runs.get(0), output, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                // Zero runs (empty input) simply produce an empty output file.
+                mergeRuns(runs, output, order);
+            }
+        } finally {
+            // Remove whatever runs are left, including those of a merge round that failed halfway.
+            try (Stream<Path> leftovers = Files.list(tempDir)) {
+                for (Path run : (Iterable<Path>) leftovers::iterator) {
+                    Files.deleteIfExists(run);
+                }
+            }
+            Files.deleteIfExists(tempDir);
+        }
+    }
+
+    /**
+     * Phase 1: maps the input one chunk at a time, sorts each chunk and writes it as a run file.
+     */
+    private static List<Path> createRuns(Path input, Path tempDir, int chunkSize, ByteOrder order) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+            long size = in.size();
+            if (size % Integer.BYTES != 0) {
+                throw new IllegalArgumentException("File length is not a multiple of 4 bytes: " + input);
+            }
+            long totalInts = size / Integer.BYTES;
+            int[] chunk = new int[(int) Math.min(chunkSize, totalInts)];
+            for (long start = 0; start < totalInts; start += chunkSize) {
+                int length = (int) Math.min(chunkSize, totalInts - start);
+                // Map just this chunk of the file and copy it into the int[] in one bulk get().
+                MappedByteBuffer region = in.map(FileChannel.MapMode.READ_ONLY,
+                        start * Integer.BYTES, (long) length * Integer.BYTES);
+                region.order(order).asIntBuffer().get(chunk, 0, length);
+
+                // Only the last chunk can be shorter than the rest.
+                int[] toSort = length == chunk.length ? chunk : Arrays.copyOf(chunk, length);
+                SortingAlgorithms.parallelMergeSort(toSort);
+
+                Path run = Files.createTempFile(tempDir, "run", ".bin");
+                writeRun(run, toSort, order);
+                runs.add(run);
+            }
+        }
+        return runs;
+    }
+
+    /** Writes a sorted chunk to a run file. */
+    private static void writeRun(Path run, int[] values, ByteOrder order) throws IOException {
+        try (RunWriter writer = new RunWriter(run, order)) {
+            for (int value : values) {
+                writer.write(value);
+            }
+        }
+    }
+
+    /**
+     * Phase 2: k-way merge of sorted runs into one output file with a min-heap of run readers.
+     */
+    private static void mergeRuns(List<Path> runs, Path output, ByteOrder order) throws IOException {
+        // The heap is ordered by the current (smallest unread) value of each run.
+        PriorityQueue<RunReader> heap = new PriorityQueue<>(Math.max(1, runs.size()),
+                Comparator.comparingInt((RunReader reader) -> reader.current));
+        List<RunReader> readers = new ArrayList<>();
+        try (RunWriter writer = new RunWriter(output, order)) {
+            for (Path run : runs) {
+                RunReader reader = new RunReader(run, order);
+                readers.add(reader);
+                if (reader.advance()) {
+                    heap.add(reader);
+                }
+            }
+            while (!heap.isEmpty()) {
+                // Take the run with the smallest head, emit that value and move the run forward.
+                RunReader smallest = heap.poll();
+                writer.write(smallest.current);
+                if (smallest.advance()) {
+                    heap.add(smallest);
+                }
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * Reads the ints of one run through a fixed-size buffer, exposing the current value.
+     */
+    private static final class RunReader implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer bytes;
+        private final IntBuffer ints;
+        int current;
+
+        RunReader(Path run, ByteOrder order) throws IOException {
+            this.channel = FileChannel.open(run, StandardOpenOption.READ);
+            this.bytes = ByteBuffer.allocateDirect(IO_BUFFER_BYTES).order(order);
+            // Start with an empty view so the first advance() triggers a read.
+            this.ints = IntBuffer.allocate(IO_BUFFER_BYTES / Integer.BYTES);
+            this.ints.limit(0);
+        }
+
+        /**
+         * Moves to the next value of the run.
+         *
+         * @return true if 'current' holds a new value, false if the run is exhausted.
+         */
+        boolean advance() throws IOException {
+            if (!ints.hasRemaining() && !refill()) {
+                return false;
+            }
+            current = ints.get();
+            return true;
+        }
+
+        /** Reads the next block of the file and decodes it into the int buffer. */
+        private boolean refill() throws IOException {
+            bytes.clear();
+            while (bytes.hasRemaining() && channel.read(bytes) > 0) {
+                // Keep reading until the buffer is full or the end of the file is reached.
+            }
+            bytes.flip();
+            ints.clear();
+            ints.put(bytes.asIntBuffer());
+            ints.flip();
+            return ints.hasRemaining();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Writes ints to a file through a fixed-size buffer.
+     */
+    private static final class RunWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer bytes;
+
+        RunWriter(Path file, ByteOrder order) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.WRITE,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.bytes = ByteBuffer.allocateDirect(IO_BUFFER_BYTES).order(order);
+        }
+
+        void write(int value) throws IOException {
+            if (!bytes.hasRemaining()) {
+                flush();
+            }
+            bytes.putInt(value);
+        }
+
+        private void flush() throws IOException {
+            bytes.flip();
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            bytes.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        // -------------------------------------------------------------------------------------
+        // EXAMPLE: Sorting a File That We Pretend Does Not Fit in Memory
+        // -------------------------------------------------------------------------------------
+        // Write 1000 random ints with DataOutputStream (big-endian, 4 bytes each).
+        Path input = Files.createTempFile("unsorted", ".bin");
+        Path output = Files.createTempFile("sorted", ".bin");
+        Random random = new Random(42);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(input)))) {
+            for (int i = 0; i < 1000; i++) {
+                out.writeInt(random.nextInt(10_000) - 5_000);
+            }
+        }
+
+        // A chunk of 100 ints gives 10 runs; a fan-in of 3 forces several merge rounds.
+        sort(input, output, 100, 3);
+
+        // Read the result back and check that it is in ascending order.
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(output)))) {
+            int count = 0;
+            int previous = Integer.MIN_VALUE;
+            boolean sorted = true;
+            StringBuilder firstValues = new StringBuilder();
+            for (long i = Files.size(output) / Integer.BYTES; i > 0; i--) {
+                int value = in.readInt();
+                sorted &= previous <= value;
+                previous = value;
+                if (count++ < 10) {
+                    firstValues.append(value).append(' ');
+                }
+            }
+            System.out.println("Sorted " + count + " ints, ascending order: " + sorted);
+            System.out.println("First 10 values: " + firstValues);
+        } finally {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(output);
+        }
+
+        // -------------------------------------------------------------------------------------
+        // ADVANCED NOTES:
+        // -------------------------------------------------------------------------------------
+        // - With chunk size C and fan-in K, N ints need ceil(N / C) runs and about
+        //   log_K(N / C) merge rounds. Each round reads and writes the whole data once,
+        //   so a larger fan-in (fewer rounds) usually matters more than a larger chunk.
+        // - Each open run costs one I/O buffer, so fan-in is bounded by memory and by the
+        //   number of file handles the operating system allows.
+        // - The heap makes each output value cost O(log K) comparisons.
+    }
+}
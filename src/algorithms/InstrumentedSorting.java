@@ -0,0 +1,343 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * InstrumentedSorting contains counting copies of the sorts in SortingAlgorithms.
+ *
+ * WHY A SEPARATE CLASS?
+ * ---------------------
+ * When a sort gets slower it helps to know WHY: more comparisons, more element moves, or more
+ * temporary memory. Counting those things costs time, so the counters are not added to the fast
+ * versions in SortingAlgorithms. Instead every sort is repeated here with the counting added.
+ * Code that does not call this class pays nothing for it.
+ *
+ * Each call returns a fresh SortStats object with:
+ * - comparisons:   how many times two elements were compared,
+ * - writes:        how many elements were written, into the array or into a temporary buffer,
+ * - tempBytes:     how many bytes of temporary int arrays were allocated,
+ * - maxDepth:      the deepest level of recursion reached (0 for non-recursive sorts).
+ *
+ * The algorithms are step-for-step the same as in SortingAlgorithms, so the counts describe
+ * exactly what the fast versions do.
+ */
+public class InstrumentedSorting {
+
+    /** The counters collected during one sort call. */
+    public static final class SortStats {
+        long comparisons;
+        long writes;
+        long tempBytes;
+        int maxDepth;
+
+        public long getComparisons() {
+            return comparisons;
+        }
+
+        public long getWrites() {
+            return writes;
+        }
+
+        public long getTempBytes() {
+            return tempBytes;
+        }
+
+        public int getMaxDepth() {
+            return maxDepth;
+        }
+
+        /** Records that a temporary int array of the given length was allocated. */
+        void allocated(int length) {
+            tempBytes += (long) length * Integer.BYTES;
+        }
+
+        /** Records that recursion reached the given depth. */
+        void reached(int depth) {
+            if (depth > maxDepth) {
+                maxDepth = depth;
+            }
+        }
+
+        /** Adds the counters of another (for example a fork/join sub-task's) stats object. */
+        void add(SortStats other) {
+            comparisons += other.comparisons;
+            writes += other.writes;
+            tempBytes += other.tempBytes;
+            reached(other.maxDepth);
+        }
+
+        @Override
+        public String toString() {
+            return "SortStats{comparisons=" + comparisons + ", writes=" + writes
+                    + ", tempBytes=" + tempBytes + ", maxDepth=" + maxDepth + "}";
+        }
+    }
+
+    /**
+     * Counting version of SortingAlgorithms.bubbleSort.
+     *
+     * @param arr The array of integers to be sorted.
+     * @return The counters of this call.
+     */
+    public static SortStats bubbleSort(int[] arr) {
+        SortStats stats = new SortStats();
+        int n = arr.length;
+        for (int i = 0; i < n - 1; i++) {
+            for (int j = 0; j < n - i - 1; j++) {
+                stats.comparisons++;
+                if (arr[j] > arr[j + 1]) {
+                    int temp = arr[j];
+                    arr[j] = arr[j + 1];
+                    arr[j + 1] = temp;
+                    stats.writes += 2;
+                }
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Counting version of SortingAlgorithms.insertionSort.
+     *
+     * @param arr The array of integers to be sorted.
+     * @return The counters of this call.
+     */
+    public static SortStats insertionSort(int[] arr) {
+        SortStats stats = new SortStats();
+        insertionSort(arr, 0, arr.length - 1, stats);
+        return stats;
+    }
+
+    private static void insertionSort(int[] arr, int left, int right, SortStats stats) {
+        for (int i = left + 1; i <= right; i++) {
+            int key = arr[i];
+            int j = i - 1;
+            while (j >= left) {
+                stats.comparisons++;
+                if (arr[j] <= key) {
+                    break;
+                }
+                arr[j + 1] = arr[j];
+                stats.writes++;
+                j--;
+            }
+            arr[j + 1] = key;
+            stats.writes++;
+        }
+    }
+
+    /**
+     * Counting version of SortingAlgorithms.mergeSort.
+     *
+     * @param arr   The array of integers to be sorted.
+     * @param left  The starting index of the array segment.
+     * @param right The ending index of the array segment.
+     * @return The counters of this call.
+     */
+    public static SortStats mergeSort(int[] arr, int left, int right) {
+        SortStats stats = new SortStats();
+        mergeSort(arr, left, right, 1, stats);
+        return stats;
+    }
+
+    private static void mergeSort(int[] arr, int left, int right, int depth, SortStats stats) {
+        stats.reached(depth);
+        if (left < right) {
+            int mid = left + (right - left) / 2;
+            mergeSort(arr, left, mid, depth + 1, stats);
+            mergeSort(arr, mid + 1, right, depth + 1, stats);
+            merge(arr, left, mid, right, stats);
+        }
+    }
+
+    /**
+     * Counting version of SortingAlgorithms.merge.
+     *
+     * @param arr   The array containing the two sorted halves.
+     * @param left  The starting index of the first half.
+     * @param mid   The ending index of the first half.
+     * @param right The ending index of the second half.
+     * @return The counters of this call.
+     */
+    public static SortStats merge(int[] arr, int left, int mid, int right) {
+        SortStats stats = new SortStats();
+        merge(arr, left, mid, right, stats);
+        return stats;
+    }
+
+    private static void merge(int[] arr, int left, int mid, int right, SortStats stats) {
+        int n1 = mid - left + 1;
+        int n2 = right - mid;
+
+        int[] L = new int[n1];
+        int[] R = new int[n2];
+        stats.allocated(n1);
+        stats.allocated(n2);
+
+        for (int i = 0; i < n1; i++) {
+            L[i] = arr[left + i];
+        }
+        for (int j = 0; j < n2; j++) {
+            R[j] = arr[mid + 1 + j];
+        }
+        stats.writes += n1 + n2;
+
+        int i = 0, j = 0, k = left;
+        while (i < n1 && j < n2) {
+            stats.comparisons++;
+            if (L[i] <= R[j]) {
+                arr[k++] = L[i++];
+            } else {
+                arr[k++] = R[j++];
+            }
+        }
+        while (i < n1) {
+            arr[k++] = L[i++];
+        }
+        while (j < n2) {
+            arr[k++] = R[j++];
+        }
+        stats.writes += n1 + n2;
+    }
+
+    /**
+     * Counting version of SortingAlgorithms.parallelMergeSort on the common ForkJoinPool.
+     * Every fork/join task counts into its own SortStats, and the counts are added up when the
+     * tasks are joined, so the counters never need to be shared between threads.
+     *
+     * @param arr                 The array of integers to be sorted.
+     * @param insertionSortCutoff Segments of at most this many elements use insertion sort.
+     * @return The counters of this call.
+     */
+    public static SortStats parallelMergeSort(int[] arr, int insertionSortCutoff) {
+        if (insertionSortCutoff < 1) {
+            throw new IllegalArgumentException("insertionSortCutoff must be at least 1: " + insertionSortCutoff);
+        }
+        SortStats stats = new SortStats();
+        int n = arr.length;
+        if (n <= insertionSortCutoff) {
+            insertionSort(arr, 0, n - 1, stats);
+            return stats;
+        }
+        int[] buffer = arr.clone();
+        stats.allocated(n);
+        stats.writes += n;
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        // Same task size rule as SortingAlgorithms.parallelMergeSort.
+        int parallelThreshold = Math.max(1 << 13, n / (pool.getParallelism() << 2));
+        pool.invoke(new CountingMergeSortTask(buffer, arr, 0, n - 1, 1, insertionSortCutoff, parallelThreshold, stats));
+        return stats;
+    }
+
+    private static void sortInto(int[] src, int[] dst, int left, int right, int depth,
+                                 int insertionSortCutoff, SortStats stats) {
+        stats.reached(depth);
+        if (right - left < insertionSortCutoff) {
+            insertionSort(dst, left, right, stats);
+            return;
+        }
+        int mid = left + (right - left) / 2;
+        sortInto(dst, src, left, mid, depth + 1, insertionSortCutoff, stats);
+        sortInto(dst, src, mid + 1, right, depth + 1, insertionSortCutoff, stats);
+        merge(src, dst, left, mid, right, stats);
+    }
+
+    private static void merge(int[] src, int[] dst, int left, int mid, int right, SortStats stats) {
+        stats.comparisons++;
+        if (src[mid] <= src[mid + 1]) {
+            System.arraycopy(src, left, dst, left, right - left + 1);
+            stats.writes += right - left + 1;
+            return;
+        }
+        int i = left, j = mid + 1, k = left;
+        while (i <= mid && j <= right) {
+            stats.comparisons++;
+            if (src[i] <= src[j]) {
+                dst[k++] = src[i++];
+            } else {
+                dst[k++] = src[j++];
+            }
+        }
+        if (i <= mid) {
+            System.arraycopy(src, i, dst, k, mid - i + 1);
+        } else if (j <= right) {
+            System.arraycopy(src, j, dst, k, right - j + 1);
+        }
+        stats.writes += right - left + 1;
+    }
+
+    private static final class CountingMergeSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] src;
+        private final int[] dst;
+        private final int left;
+        private final int right;
+        private final int depth;
+        private final int insertionSortCutoff;
+        private final int parallelThreshold;
+        private final SortStats stats;
+
+        CountingMergeSortTask(int[] src, int[] dst, int left, int right, int depth,
+                              int insertionSortCutoff, int parallelThreshold, SortStats stats) {
+            this.src = src;
+            this.dst = dst;
+            this.left = left;
+            this.right = right;
+            this.depth = depth;
+            this.insertionSortCutoff = insertionSortCutoff;
+            this.parallelThreshold = parallelThreshold;
+            this.stats = stats;
+        }
+
+        @Override
+        protected void compute() {
+            if (right - left < parallelThreshold) {
+                sortInto(src, dst, left, right, depth, insertionSortCutoff, stats);
+                return;
+            }
+            stats.reached(depth);
+            int mid = left + (right - left) / 2;
+            // Each half counts into its own stats; only this thread touches 'stats'.
+            SortStats leftStats = new SortStats();
+            SortStats rightStats = new SortStats();
+            invokeAll(new CountingMergeSortTask(dst, src, left, mid, depth + 1,
+                            insertionSortCutoff, parallelThreshold, leftStats),
+                    new CountingMergeSortTask(dst, src, mid + 1, right, depth + 1,
+                            insertionSortCutoff, parallelThreshold, rightStats));
+            stats.add(leftStats);
+            stats.add(rightStats);
+            merge(src, dst, left, mid, right, stats);
+        }
+    }
+
+    public static void main(String[] args) {
+        // -------------------------------------------------------------------------------------
+        // EXAMPLE: Comparing the Work Done by Each Sort on the Same Input
+        // -------------------------------------------------------------------------------------
+        int[] input = new int[1000];
+        for (int i = 0; i < input.length; i++) {
+            input[i] = (i * 7919) % 1000;
+        }
+
+        System.out.println("bubbleSort:        " + bubbleSort(input.clone()));
+        System.out.println("insertionSort:     " + insertionSort(input.clone()));
+        System.out.println("mergeSort:         " + mergeSort(input.clone(), 0, input.length - 1));
+        System.out.println("parallelMergeSort: " + parallelMergeSort(input.clone(), 32));
+
+        // Already sorted input: insertion sort does n - 1 comparisons and no moves.
+        int[] sorted = input.clone();
+        Arrays.sort(sorted);
+        System.out.println("insertionSort on sorted input: " + insertionSort(sorted));
+
+        // -------------------------------------------------------------------------------------
+        // ADVANCED NOTES:
+        // -------------------------------------------------------------------------------------
+        // - mergeSort allocates about n * log2(n) * 4 bytes of temporary arrays in total, while
+        //   parallelMergeSort allocates a single n * 4 byte buffer: compare their tempBytes.
+        // - Comparisons of the O(n^2) sorts grow with the number of inversions in the input;
+        //   merge sort stays close to n * log2(n) regardless of the input.
+    }
+}
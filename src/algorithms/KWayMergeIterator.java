@@ -0,0 +1,276 @@
+package algorithms;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * KWayMergeIterator lazily merges any number of sorted int sources into one sorted sequence.
+ *
+ * WHY NOT JUST CALL merge()?
+ * --------------------------
+ * SortingAlgorithms.merge only merges two neighbouring halves of one array. Here the inputs are
+ * k separate sorted sources (arrays, IntBuffers or iterators), for example shards produced by
+ * different workers. Nothing is concatenated or copied: each call to nextInt() produces the next
+ * smallest value from whichever source currently holds it.
+ *
+ * WHAT IS A LOSER TREE?
+ * ---------------------
+ * A loser tree (tournament tree) is a complete binary tree with one leaf per source. Every inner
+ * node remembers the LOSER of the match between its two subtrees, and the overall winner (the
+ * source with the smallest head) is kept separately. When the winner advances to its next value,
+ * only the matches on its path to the root have to be replayed: exactly log2(k) comparisons,
+ * against the stored losers. A binary heap needs up to 2 * log2(k) comparisons for the same step.
+ *
+ * Each source must be sorted in ascending order. With 'distinct' set, repeated values (within one
+ * source or across sources) are returned only once.
+ */
+public final class KWayMergeIterator implements PrimitiveIterator.OfInt {
+
+    private final PrimitiveIterator.OfInt[] sources;
+    private final int leafCount;    // Number of leaves: k rounded up to a power of two.
+    private final int[] heads;      // Current value of each source.
+    private final boolean[] done;   // True once a source (or a padding leaf) has no values left.
+    private final int[] losers;     // losers[node] = source that lost the match at that inner node.
+    private int winner;             // Source holding the smallest current value.
+
+    private final boolean distinct;
+    private boolean emittedAny;
+    private int lastEmitted;
+
+    /**
+     * Creates a merging iterator over sorted int iterators.
+     *
+     * @param sources  The sorted sources.
+     * @param distinct If true, every value is returned only once.
+     */
+    public KWayMergeIterator(List<? extends PrimitiveIterator.OfInt> sources, boolean distinct) {
+        this.sources = sources.toArray(new PrimitiveIterator.OfInt[0]);
+        this.distinct = distinct;
+        int k = Math.max(1, this.sources.length);
+        this.leafCount = Integer.highestOneBit(k) == k ? k : Integer.highestOneBit(k) << 1;
+        this.heads = new int[leafCount];
+        this.done = new boolean[leafCount];
+        this.losers = new int[leafCount];
+        for (int i = 0; i < leafCount; i++) {
+            // Padding leaves beyond the real sources start (and stay) exhausted.
+            done[i] = true;
+            if (i < this.sources.length) {
+                advance(i);
+            }
+        }
+        winner = playMatches(1);
+    }
+
+    /**
+     * Merges sorted int arrays (no copies are made).
+     *
+     * @param arrays The sorted arrays.
+     * @return An iterator over all values in ascending order.
+     */
+    public static KWayMergeIterator of(int[]... arrays) {
+        return ofArrays(Arrays.asList(arrays), false);
+    }
+
+    /**
+     * Merges sorted int arrays (no copies are made).
+     *
+     * @param arrays   The sorted arrays.
+     * @param distinct If true, every value is returned only once.
+     * @return An iterator over the values in ascending order.
+     */
+    public static KWayMergeIterator ofArrays(List<int[]> arrays, boolean distinct) {
+        List<PrimitiveIterator.OfInt> sources = new ArrayList<>(arrays.size());
+        for (int[] array : arrays) {
+            sources.add(new ArraySource(array));
+        }
+        return new KWayMergeIterator(sources, distinct);
+    }
+
+    /**
+     * Merges the remaining values (position to limit) of sorted IntBuffers.
+     * The buffers' own positions are not changed.
+     *
+     * @param buffers  The sorted buffers.
+     * @param distinct If true, every value is returned only once.
+     * @return An iterator over the values in ascending order.
+     */
+    public static KWayMergeIterator ofBuffers(List<IntBuffer> buffers, boolean distinct) {
+        List<PrimitiveIterator.OfInt> sources = new ArrayList<>(buffers.size());
+        for (IntBuffer buffer : buffers) {
+            sources.add(new BufferSource(buffer.duplicate()));
+        }
+        return new KWayMergeIterator(sources, distinct);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (distinct && emittedAny) {
+            // Drop every value equal to the one returned last.
+            while (!done[winner] && heads[winner] == lastEmitted) {
+                advanceWinner();
+            }
+        }
+        return !done[winner];
+    }
+
+    @Override
+    public int nextInt() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        int value = heads[winner];
+        advanceWinner();
+        emittedAny = true;
+        lastEmitted = value;
+        return value;
+    }
+
+    /**
+     * Drains the remaining values into an array.
+     *
+     * @return The remaining values in ascending order.
+     */
+    public int[] toArray() {
+        int[] result = new int[16];
+        int size = 0;
+        while (hasNext()) {
+            if (size == result.length) {
+                result = Arrays.copyOf(result, size * 2);
+            }
+            result[size++] = nextInt();
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /** Loads the next value of a source into heads[], or marks the source as done. */
+    private void advance(int source) {
+        PrimitiveIterator.OfInt iterator = sources[source];
+        if (iterator.hasNext()) {
+            heads[source] = iterator.nextInt();
+            done[source] = false;
+        } else {
+            done[source] = true;
+        }
+    }
+
+    /** True if source a's head should come before source b's head. */
+    private boolean beats(int a, int b) {
+        if (done[a] || done[b]) {
+            return !done[a];
+        }
+        // Equal heads are won by the lower source index, which keeps the merge stable.
+        return heads[a] < heads[b] || (heads[a] == heads[b] && a < b);
+    }
+
+    /** Builds the subtree below 'node', storing each match's loser, and returns its winner. */
+    private int playMatches(int node) {
+        if (node >= leafCount) {
+            return node - leafCount;
+        }
+        int left = playMatches(2 * node);
+        int right = playMatches(2 * node + 1);
+        if (beats(left, right)) {
+            losers[node] = right;
+            return left;
+        }
+        losers[node] = left;
+        return right;
+    }
+
+    /** Moves the winner to its next value and replays the matches on its path to the root. */
+    private void advanceWinner() {
+        int candidate = winner;
+        advance(candidate);
+        for (int node = (candidate + leafCount) >>> 1; node >= 1; node >>>= 1) {
+            if (beats(losers[node], candidate)) {
+                // The stored loser wins this time: it moves up, the candidate stays as the new loser.
+                int temp = losers[node];
+                losers[node] = candidate;
+                candidate = temp;
+            }
+        }
+        winner = candidate;
+    }
+
+    /** Iterates over an int array without copying it. */
+    private static final class ArraySource implements PrimitiveIterator.OfInt {
+        private final int[] array;
+        private int index;
+
+        ArraySource(int[] array) {
+            this.array = array;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < array.length;
+        }
+
+        @Override
+        public int nextInt() {
+            if (index >= array.length) {
+                throw new NoSuchElementException();
+            }
+            return array[index++];
+        }
+    }
+
+    /** Iterates over the remaining values of an IntBuffer. */
+    private static final class BufferSource implements PrimitiveIterator.OfInt {
+        private final IntBuffer buffer;
+
+        BufferSource(IntBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return buffer.hasRemaining();
+        }
+
+        @Override
+        public int nextInt() {
+            if (!buffer.hasRemaining()) {
+                throw new NoSuchElementException();
+            }
+            return buffer.get();
+        }
+    }
+
+    public static void main(String[] args) {
+        // -------------------------------------------------------------------------------------
+        // EXAMPLE 1: Merging Sorted Arrays
+        // -------------------------------------------------------------------------------------
+        int[] shardA = {1, 4, 7, 10};
+        int[] shardB = {2, 4, 8};
+        int[] shardC = {0, 3, 4, 11, 12};
+        System.out.println("Merged: " + Arrays.toString(of(shardA, shardB, shardC).toArray()));
+        // Expected: [0, 1, 2, 3, 4, 4, 4, 7, 8, 10, 11, 12]
+
+        // -------------------------------------------------------------------------------------
+        // EXAMPLE 2: Mixing Sources and Removing Duplicates
+        // -------------------------------------------------------------------------------------
+        List<PrimitiveIterator.OfInt> mixed = new ArrayList<>();
+        mixed.add(new ArraySource(shardA));
+        mixed.add(new BufferSource(IntBuffer.wrap(shardB)));
+        mixed.add(Arrays.stream(shardC).iterator());
+        KWayMergeIterator distinct = new KWayMergeIterator(mixed, true);
+        System.out.print("Merged without duplicates:");
+        while (distinct.hasNext()) {
+            System.out.print(" " + distinct.nextInt());
+        }
+        System.out.println();
+        // Expected: 0 1 2 3 4 7 8 10 11 12
+
+        // -------------------------------------------------------------------------------------
+        // ADVANCED NOTES:
+        // -------------------------------------------------------------------------------------
+        // - Merging n values from k sources costs O(n log k) comparisons and O(k) memory.
+        // - The iterator is lazy: sources can be streams that are still being produced, as long
+        //   as each one yields its values in ascending order.
+    }
+}
@@ -0,0 +1,278 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * LearnedIndex predicts where a key is in a sorted array with piecewise-linear models, and then
+ * only searches a small window around the prediction.
+ *
+ * THE IDEA:
+ * ---------
+ * A sorted array is a function from key to position. For keys that are close to uniform
+ * (timestamps, sequential IDs), that function is almost a straight line: position ~ slope * key.
+ * Binary search ignores this and always needs about log2(n) probes. A learned index "fits" the
+ * function instead, so most of the work is one multiplication.
+ *
+ * BUILDING THE MODEL (shrinking cone):
+ * ------------------------------------
+ * The array is cut into segments, each with its own line. A segment starts at a point
+ * (firstKey, firstPosition) and keeps the range of slopes for which every point so far is
+ * predicted within +-epsilon positions. Each new point narrows that range; when the range becomes
+ * empty, a new segment starts. So the maximum error of every segment is at most epsilon.
+ *
+ * SEARCHING:
+ * ----------
+ * 1. Find the segment whose first key is the largest one <= key (binary search over the few segments).
+ * 2. Predict the position with that segment's line.
+ * 3. Binary search only inside [prediction - epsilon, prediction + epsilon]: about log2(2 * epsilon)
+ *    probes instead of log2(n).
+ *
+ * If the keys are skewed, many segments are needed and the model stops paying off. In that case
+ * the index falls back to a plain binary search. averageProbes() and modelSizeBytes() report how
+ * well the model works for the data at hand.
+ */
+public class LearnedIndex {
+
+    /** Default maximum prediction error, in positions. */
+    public static final int DEFAULT_EPSILON = 32;
+
+    /** With fewer keys than this per segment on average, the model is not used. */
+    private static final int MIN_KEYS_PER_SEGMENT = 64;
+
+    private final int[] sorted;
+    private final int epsilon;
+    private final boolean useModel;
+
+    // Segment i covers the keys from firstKeys[i] up to (not including) firstKeys[i + 1].
+    private final int[] firstKeys;
+    private final int[] firstPositions;
+    private final double[] slopes;
+    private final int segmentCount;
+
+    // Probe statistics (not synchronized: only approximate when used from several threads).
+    private long lookups;
+    private long probes;
+
+    /**
+     * Builds an index with the default error bound.
+     *
+     * @param sorted A sorted array of integers. It is referenced, not copied, so it must not change.
+     */
+    public LearnedIndex(int[] sorted) {
+        this(sorted, DEFAULT_EPSILON);
+    }
+
+    /**
+     * Builds an index.
+     *
+     * @param sorted  A sorted array of integers. It is referenced, not copied, so it must not change.
+     * @param epsilon The maximum prediction error of every segment, in positions (at least 1).
+     */
+    public LearnedIndex(int[] sorted, int epsilon) {
+        if (epsilon < 1) {
+            throw new IllegalArgumentException("epsilon must be at least 1: " + epsilon);
+        }
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i - 1] > sorted[i]) {
+                throw new IllegalArgumentException("Array is not sorted at index " + i);
+            }
+        }
+        this.sorted = sorted;
+        this.epsilon = epsilon;
+
+        int n = sorted.length;
+        int[] keys = new int[Math.max(1, n)];
+        int[] positions = new int[Math.max(1, n)];
+        double[] segmentSlopes = new double[Math.max(1, n)];
+        int count = 0;
+
+        int i = 0;
+        while (i < n) {
+            // Start a new segment at the first copy of sorted[i].
+            long x0 = sorted[i];
+            int y0 = i;
+            double low = 0;
+            double high = Double.POSITIVE_INFINITY;
+            i = nextDistinct(i);
+            while (i < n) {
+                // (x, y) = the key and the position of its first copy.
+                double dx = (long) sorted[i] - x0;
+                double newLow = Math.max(low, (i - epsilon - y0) / dx);
+                double newHigh = Math.min(high, (i + epsilon - y0) / dx);
+                if (newLow > newHigh) {
+                    break;  // No single line fits all points within epsilon: end the segment here.
+                }
+                low = newLow;
+                high = newHigh;
+                i = nextDistinct(i);
+            }
+            keys[count] = (int) x0;
+            positions[count] = y0;
+            // A segment with one distinct key has no upper slope bound; any slope works there.
+            segmentSlopes[count] = high == Double.POSITIVE_INFINITY ? 0 : (low + high) / 2;
+            count++;
+        }
+        this.segmentCount = count;
+        this.firstKeys = Arrays.copyOf(keys, count);
+        this.firstPositions = Arrays.copyOf(positions, count);
+        this.slopes = Arrays.copyOf(segmentSlopes, count);
+        this.useModel = n > 0 && (long) count * MIN_KEYS_PER_SEGMENT <= n;
+    }
+
+    /** Returns the index of the next key that differs from sorted[i] (or n). */
+    private int nextDistinct(int i) {
+        int value = sorted[i];
+        do {
+            i++;
+        } while (i < sorted.length && sorted[i] == value);
+        return i;
+    }
+
+    /**
+     * Returns the position of the first key that is not less than 'key', or the array length
+     * if every key is smaller.
+     *
+     * @param key The value to search for.
+     * @return The lower bound position.
+     */
+    public int lowerBound(int key) {
+        int n = sorted.length;
+        lookups++;
+        if (!useModel) {
+            return binarySearchLowerBound(key, 0, n);
+        }
+        if (key <= firstKeys[0]) {
+            return 0;
+        }
+        // Segment with the largest first key <= key.
+        int segLow = 0, segHigh = segmentCount - 1;
+        while (segLow < segHigh) {
+            int mid = (segLow + segHigh + 1) >>> 1;
+            if (firstKeys[mid] <= key) {
+                segLow = mid;
+            } else {
+                segHigh = mid - 1;
+            }
+        }
+        int segmentStart = firstPositions[segLow];
+        int segmentEnd = segLow + 1 < segmentCount ? firstPositions[segLow + 1] : n;
+
+        // The answer lies in [segmentStart, segmentEnd]; the model narrows it to about 2 * epsilon.
+        double predicted = segmentStart + slopes[segLow] * ((long) key - firstKeys[segLow]);
+        int from = (int) Math.max(segmentStart, Math.min(segmentEnd, predicted - epsilon));
+        int to = (int) Math.max(segmentStart, Math.min(segmentEnd, predicted + epsilon + 1));
+
+        // The error bound holds for keys in the array; for keys between two array keys, the
+        // answer can sit just outside the window, so check the window edges and widen if needed.
+        if (from > segmentStart && probe(from - 1) >= key) {
+            return binarySearchLowerBound(key, segmentStart, from);
+        }
+        if (to < segmentEnd && probe(to) < key) {
+            return binarySearchLowerBound(key, to + 1, segmentEnd);
+        }
+        return binarySearchLowerBound(key, from, to);
+    }
+
+    /**
+     * Returns the position of 'key' (its first copy if there are duplicates), or -1 if absent.
+     *
+     * @param key The value to search for.
+     * @return The index of the key, or -1.
+     */
+    public int indexOf(int key) {
+        int position = lowerBound(key);
+        return position < sorted.length && sorted[position] == key ? position : -1;
+    }
+
+    /**
+     * Returns whether the array contains 'key'.
+     *
+     * @param key The value to search for.
+     * @return True if the key is present.
+     */
+    public boolean contains(int key) {
+        return indexOf(key) >= 0;
+    }
+
+    /** Lower bound of key in sorted[from..to); returns 'to' if every key there is smaller. */
+    private int binarySearchLowerBound(int key, int from, int to) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (probe(mid) < key) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    /** Reads one key of the array, counting the access. */
+    private int probe(int index) {
+        probes++;
+        return sorted[index];
+    }
+
+    /** @return True if lookups use the model, false if the data was too skewed and binary search is used. */
+    public boolean usesModel() {
+        return useModel;
+    }
+
+    /** @return The number of linear segments in the model. */
+    public int segmentCount() {
+        return segmentCount;
+    }
+
+    /** @return The memory used by the model itself (first key, first position and slope per segment). */
+    public long modelSizeBytes() {
+        return (long) segmentCount * (Integer.BYTES + Integer.BYTES + Double.BYTES);
+    }
+
+    /** @return The average number of array keys read per lookup so far (0 before the first lookup). */
+    public double averageProbes() {
+        return lookups == 0 ? 0 : (double) probes / lookups;
+    }
+
+    /** Resets the probe statistics. */
+    public void resetStatistics() {
+        lookups = 0;
+        probes = 0;
+    }
+
+    public static void main(String[] args) {
+        // -------------------------------------------------------------------------------------
+        // EXAMPLE 1: Nearly Uniform Keys (timestamps one second apart, with some jitter)
+        // -------------------------------------------------------------------------------------
+        int n = 1_000_000;
+        int[] timestamps = new int[n];
+        for (int i = 0; i < n; i++) {
+            timestamps[i] = 1000 * i + (i * 7919) % 500;
+        }
+        LearnedIndex uniform = new LearnedIndex(timestamps);
+        for (int i = 0; i < n; i += 97) {
+            uniform.indexOf(timestamps[i]);
+        }
+        System.out.println("Uniform keys: uses model = " + uniform.usesModel()
+                + ", segments = " + uniform.segmentCount()
+                + ", model size = " + uniform.modelSizeBytes() + " bytes"
+                + ", average probes = " + String.format("%.1f", uniform.averageProbes()));
+        System.out.println("Binary search would need about " + (32 - Integer.numberOfLeadingZeros(n)) + " probes.");
+
+        // -------------------------------------------------------------------------------------
+        // EXAMPLE 2: Irregular Keys (random values: the gaps between neighbours vary wildly)
+        // -------------------------------------------------------------------------------------
+        int[] irregular = new Random(42).ints(10_000).toArray();
+        Arrays.sort(irregular);
+        LearnedIndex fallback = new LearnedIndex(irregular, 2);
+        System.out.println("\nIrregular keys (epsilon 2): uses model = " + fallback.usesModel()
+                + ", segments = " + fallback.segmentCount());
+
+        // -------------------------------------------------------------------------------------
+        // ADVANCED NOTES:
+        // -------------------------------------------------------------------------------------
+        // - A smaller epsilon means fewer probes per lookup but more segments (a bigger model).
+        // - Real learned indexes (RMI, PGM-index) stack several layers of models so that even the
+        //   segment lookup is a prediction; here the segments are found by binary search.
+    }
+}
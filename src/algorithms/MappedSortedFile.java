@@ -0,0 +1,254 @@
+package algorithms;
+
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * MappedSortedFile answers range queries (lowerBound, upperBound, equalRange, countInRange)
+ * directly on a file of sorted ints or longs, without loading it onto the heap.
+ *
+ * WHY MEMORY-MAP?
+ * ---------------
+ * Reading a 4 GB sorted column into an int[] takes seconds and 4 GB of heap before the first query
+ * can run. Mapping the file instead takes microseconds: the operating system only reads the pages
+ * that a query actually touches, and it caches them for every process that maps the same file.
+ * A binary search touches about log2(n) elements, so a cold query reads only a few dozen pages.
+ *
+ * FILE FORMAT:
+ * ------------
+ * Raw 4-byte ints or 8-byte longs with no header, sorted in ascending (signed) order. The default
+ * byte order is little-endian, the native order of x86 and ARM, so a column written by C code or
+ * a columnar engine can be used as is. The file is trusted to be sorted: checking it would mean
+ * reading all of it, which is exactly what mapping avoids.
+ *
+ * FILES LARGER THAN 2 GB:
+ * -----------------------
+ * A single MappedByteBuffer is indexed by int, so it can cover at most 2 GB. The file is therefore
+ * mapped as several regions of REGION_BYTES each, and element i is found in region
+ * (i * elementBytes) / REGION_BYTES. REGION_BYTES is a multiple of 8, so no element straddles two
+ * regions.
+ */
+public class MappedSortedFile implements Closeable {
+
+    /** Bytes per mapped region (1 GB). */
+    private static final long REGION_BYTES = 1L << 30;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] regions;
+    private final int elementBytes;   // 4 for ints, 8 for longs.
+    private final long size;
+
+    private MappedSortedFile(Path file, int elementBytes, ByteOrder order) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long bytes = channel.size();
+            if (bytes % elementBytes != 0) {
+                throw new IllegalArgumentException("File length " + bytes + " is not a multiple of " + elementBytes);
+            }
+            this.elementBytes = elementBytes;
+            this.size = bytes / elementBytes;
+            this.regions = new MappedByteBuffer[(int) ((bytes + REGION_BYTES - 1) / REGION_BYTES)];
+            for (int r = 0; r < regions.length; r++) {
+                long start = r * REGION_BYTES;
+                regions[r] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(REGION_BYTES, bytes - start));
+                regions[r].order(order);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Maps a file of sorted little-endian ints.
+     *
+     * @param file The file to map.
+     * @return The mapped file; close it when done.
+     * @throws IOException If the file cannot be opened or mapped.
+     */
+    public static MappedSortedFile ofInts(Path file) throws IOException {
+        return new MappedSortedFile(file, Integer.BYTES, ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Maps a file of sorted ints stored in the given byte order.
+     *
+     * @param file  The file to map.
+     * @param order Byte order of the ints in the file.
+     * @return The mapped file; close it when done.
+     * @throws IOException If the file cannot be opened or mapped.
+     */
+    public static MappedSortedFile ofInts(Path file, ByteOrder order) throws IOException {
+        return new MappedSortedFile(file, Integer.BYTES, order);
+    }
+
+    /**
+     * Maps a file of sorted little-endian longs.
+     *
+     * @param file The file to map.
+     * @return The mapped file; close it when done.
+     * @throws IOException If the file cannot be opened or mapped.
+     */
+    public static MappedSortedFile ofLongs(Path file) throws IOException {
+        return new MappedSortedFile(file, Long.BYTES, ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Maps a file of sorted longs stored in the given byte order.
+     *
+     * @param file  The file to map.
+     * @param order Byte order of the longs in the file.
+     * @return The mapped file; close it when done.
+     * @throws IOException If the file cannot be opened or mapped.
+     */
+    public static MappedSortedFile ofLongs(Path file, ByteOrder order) throws IOException {
+        return new MappedSortedFile(file, Long.BYTES, order);
+    }
+
+    /** @return The number of elements in the file. */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Reads one element. Ints are widened to long, so int and long files share the same queries.
+     *
+     * @param index The position of the element (0 <= index < size()).
+     * @return The element at that position.
+     */
+    public long get(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of range [0, " + size + ")");
+        }
+        long offset = index * elementBytes;
+        MappedByteBuffer region = regions[(int) (offset / REGION_BYTES)];
+        int position = (int) (offset % REGION_BYTES);
+        return elementBytes == Integer.BYTES ? region.getInt(position) : region.getLong(position);
+    }
+
+    /**
+     * Returns the position of the first element that is not less than 'key', or size() if every
+     * element is smaller.
+     *
+     * @param key The value to search for.
+     * @return The lower bound position.
+     */
+    public long lowerBound(long key) {
+        long left = 0;
+        long right = size;
+        while (left < right) {
+            long mid = (left + right) >>> 1;
+            if (get(mid) < key) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        return left;
+    }
+
+    /**
+     * Returns the position of the first element that is greater than 'key', or size() if no
+     * element is greater.
+     *
+     * @param key The value to search for.
+     * @return The upper bound position.
+     */
+    public long upperBound(long key) {
+        long left = 0;
+        long right = size;
+        while (left < right) {
+            long mid = (left + right) >>> 1;
+            if (get(mid) <= key) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        return left;
+    }
+
+    /**
+     * Finds all copies of 'key': they are at positions range[0] .. range[1] - 1.
+     *
+     * @param key The value to search for.
+     * @return {lowerBound(key), upperBound(key)}; both are equal if the key is absent.
+     */
+    public long[] equalRange(long key) {
+        return new long[] {lowerBound(key), upperBound(key)};
+    }
+
+    /**
+     * Counts the elements in the closed range [low, high].
+     *
+     * @param low  The smallest value to count.
+     * @param high The largest value to count.
+     * @return The number of elements e with low <= e <= high (0 if low > high).
+     */
+    public long countInRange(long low, long high) {
+        return low > high ? 0 : upperBound(high) - lowerBound(low);
+    }
+
+    /**
+     * Returns whether the file contains 'key'.
+     *
+     * @param key The value to search for.
+     * @return True if the key is present.
+     */
+    public boolean contains(long key) {
+        long position = lowerBound(key);
+        return position < size && get(position) == key;
+    }
+
+    /**
+     * Closes the file. Java 8 has no public way to unmap a buffer, so the mapped pages are released
+     * when the buffers are garbage collected; no query may be run after closing.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    public static void main(String[] args) throws IOException {
+        // -------------------------------------------------------------------------------------
+        // EXAMPLE: Querying an On-Disk Sorted Column of Ints
+        // -------------------------------------------------------------------------------------
+        // Write 1,000,000 sorted little-endian ints (every value appears twice: 0, 0, 3, 3, 6, 6, ...).
+        Path file = Files.createTempFile("sorted-column", ".bin");
+        try {
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+                for (int i = 0; i < 1_000_000; i++) {
+                    out.writeInt(Integer.reverseBytes(3 * (i / 2)));  // DataOutputStream is big-endian.
+                }
+            }
+
+            try (MappedSortedFile column = MappedSortedFile.ofInts(file)) {
+                long[] range = column.equalRange(300);
+                System.out.println("Elements: " + column.size());                               // 1000000
+                System.out.println("Contains 300? " + column.contains(300));                    // true
+                System.out.println("Contains 301? " + column.contains(301));                    // false
+                System.out.println("Equal range of 300: [" + range[0] + ", " + range[1] + ")"); // [200, 202)
+                System.out.println("Lower bound of 301: " + column.lowerBound(301));             // 202
+                System.out.println("Elements in [0, 299]: " + column.countInRange(0, 299));     // 200
+            }
+        } finally {
+            Files.delete(file);
+        }
+
+        // -------------------------------------------------------------------------------------
+        // ADVANCED NOTES:
+        // -------------------------------------------------------------------------------------
+        // - The first queries are slow-ish (page faults); afterwards the top levels of the binary
+        //   search stay in the page cache, just like the top of an in-memory array stays in the CPU cache.
+        // - Queries never allocate (except the small array returned by equalRange), so the file
+        //   can be far larger than the heap.
+        // - For in-memory arrays, see DetailedBinarySearchExample.lowerBound / upperBound.
+    }
+}
@@ -0,0 +1,401 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * RadixSort demonstrates a byte-wise LSD (Least Significant Digit) radix sort for
+ * int, long, float and double arrays.
+ *
+ * WHAT IS RADIX SORT?
+ * -------------------
+ * All sorts in SortingAlgorithms are comparison based, so they can never beat O(n log n).
+ * Radix sort never compares two keys. It looks at a key one "digit" at a time (here a digit is
+ * one byte, so there are 256 possible values) and distributes the keys into 256 buckets.
+ * Starting with the least significant byte and keeping every pass stable, the array is fully
+ * sorted after the last (most significant) byte. A 32-bit key needs 4 passes and a 64-bit key
+ * needs 8, so the running time is O(n * w) where w is the number of bytes per key.
+ *
+ * HOW ONE PASS WORKS:
+ * -------------------
+ * 1. Count how many keys have each byte value (a histogram with 256 counters).
+ * 2. Turn the counts into starting offsets with a prefix sum.
+ * 3. Walk the keys in order and write each key to the next free slot of its bucket.
+ *
+ * TRICKS USED HERE:
+ * -----------------
+ * - The histograms for ALL passes are built in one read of the input.
+ * - If every key has the same value for a byte, that pass would not move anything and is skipped
+ *   (common for small non-negative ints, whose upper bytes are all zero).
+ * - Passes ping-pong between the input and one buffer, so only one extra array is allocated.
+ * - Signed keys: flipping the sign bit makes negative numbers sort before positive ones.
+ * - Floating point keys: positive values only need the sign bit flipped, negative values need all
+ *   bits flipped, so that larger magnitudes of negative numbers come first. This gives the same
+ *   order as Arrays.sort: -0.0 before 0.0 and NaN last.
+ * - For large inputs the histogram phase can be split across a ForkJoinPool.
+ */
+public class RadixSort {
+
+    /** Number of buckets per pass: one for each possible byte value. */
+    private static final int RADIX = 256;
+
+    /** Inputs this small are sorted with insertion sort, where radix sort has too much overhead. */
+    private static final int INSERTION_SORT_THRESHOLD = 64;
+
+    /** Inputs at least this large use the parallel histogram phase when it is requested. */
+    public static final int PARALLEL_HISTOGRAM_THRESHOLD = 1 << 16;
+
+    // ----------------------------------------------------------------------------------------
+    // Public entry points
+    // ----------------------------------------------------------------------------------------
+
+    /**
+     * Sorts an int array in ascending order.
+     *
+     * @param arr The array of integers to be sorted.
+     */
+    public static void sort(int[] arr) {
+        sort(arr, false);
+    }
+
+    /**
+     * Sorts an int array in ascending order.
+     *
+     * @param arr      The array of integers to be sorted.
+     * @param parallel If true, large inputs build their histograms on the common ForkJoinPool.
+     */
+    public static void sort(int[] arr, boolean parallel) {
+        if (arr.length <= INSERTION_SORT_THRESHOLD) {
+            SortingAlgorithms.insertionSort(arr, 0, arr.length - 1);
+            return;
+        }
+        // Flip the sign bit of the top byte so negative numbers come first.
+        sortKeys(arr, 0x80, parallel);
+    }
+
+    /**
+     * Sorts a long array in ascending order.
+     *
+     * @param arr The array of longs to be sorted.
+     */
+    public static void sort(long[] arr) {
+        sort(arr, false);
+    }
+
+    /**
+     * Sorts a long array in ascending order.
+     *
+     * @param arr      The array of longs to be sorted.
+     * @param parallel If true, large inputs build their histograms on the common ForkJoinPool.
+     */
+    public static void sort(long[] arr, boolean parallel) {
+        if (arr.length < 2) {
+            return;
+        }
+        sortKeys(arr, 0x80, parallel);
+    }
+
+    /**
+     * Sorts a float array in ascending order, in the same order as Arrays.sort(float[]).
+     *
+     * @param arr The array of floats to be sorted.
+     */
+    public static void sort(float[] arr) {
+        sort(arr, false);
+    }
+
+    /**
+     * Sorts a float array in ascending order, in the same order as Arrays.sort(float[]).
+     *
+     * @param arr      The array of floats to be sorted.
+     * @param parallel If true, large inputs build their histograms on the common ForkJoinPool.
+     */
+    public static void sort(float[] arr, boolean parallel) {
+        int n = arr.length;
+        if (n < 2) {
+            return;
+        }
+        // Map every float to an int key whose UNSIGNED order matches the float order.
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) {
+            // floatToIntBits (not the raw variant) collapses every NaN to one value, which sorts last.
+            int bits = Float.floatToIntBits(arr[i]);
+            keys[i] = bits ^ ((bits >> 31) | 0x80000000);
+        }
+        // The keys are already unsigned, so no extra flip of the top byte is needed.
+        sortKeys(keys, 0, parallel);
+        for (int i = 0; i < n; i++) {
+            int key = keys[i];
+            arr[i] = Float.intBitsToFloat(key ^ ((~key >> 31) | 0x80000000));
+        }
+    }
+
+    /**
+     * Sorts a double array in ascending order, in the same order as Arrays.sort(double[]).
+     *
+     * @param arr The array of doubles to be sorted.
+     */
+    public static void sort(double[] arr) {
+        sort(arr, false);
+    }
+
+    /**
+     * Sorts a double array in ascending order, in the same order as Arrays.sort(double[]).
+     *
+     * @param arr      The array of doubles to be sorted.
+     * @param parallel If true, large inputs build their histograms on the common ForkJoinPool.
+     */
+    public static void sort(double[] arr, boolean parallel) {
+        int n = arr.length;
+        if (n < 2) {
+            return;
+        }
+        // Same trick as for floats, with 64-bit keys.
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            long bits = Double.doubleToLongBits(arr[i]);
+            keys[i] = bits ^ ((bits >> 63) | Long.MIN_VALUE);
+        }
+        sortKeys(keys, 0, parallel);
+        for (int i = 0; i < n; i++) {
+            long key = keys[i];
+            arr[i] = Double.longBitsToDouble(key ^ ((~key >> 63) | Long.MIN_VALUE));
+        }
+    }
+
+    // ----------------------------------------------------------------------------------------
+    // 32-bit keys
+    // ----------------------------------------------------------------------------------------
+
+    /**
+     * LSD radix sort over the 4 bytes of each key.
+     *
+     * @param arr      The keys to be sorted.
+     * @param topFlip  XOR mask applied to the most significant byte (0x80 for signed keys, 0 for unsigned).
+     * @param parallel Whether the histogram phase may run on the common ForkJoinPool.
+     */
+    private static void sortKeys(int[] arr, int topFlip, boolean parallel) {
+        int n = arr.length;
+        int[][] counts = parallel && n >= PARALLEL_HISTOGRAM_THRESHOLD
+                ? ForkJoinPool.commonPool().invoke(new IntHistogramTask(arr, 0, n, topFlip))
+                : histogram(arr, 0, n, topFlip);
+
+        int[] src = arr;
+        int[] dst = null;
+        for (int pass = 0; pass < 4; pass++) {
+            int shift = pass << 3;
+            int flip = pass == 3 ? topFlip : 0;
+            int[] count = counts[pass];
+            // Every key has the same byte here: this pass would leave the order unchanged.
+            if (count[((src[0] >>> shift) & 0xFF) ^ flip] == n) {
+                continue;
+            }
+            if (dst == null) {
+                dst = new int[n];
+            }
+            // Prefix sum: offset[d] is where the first key with digit d goes.
+            int[] offset = new int[RADIX];
+            for (int d = 1; d < RADIX; d++) {
+                offset[d] = offset[d - 1] + count[d - 1];
+            }
+            // Stable scatter: keys with the same digit keep their relative order.
+            for (int i = 0; i < n; i++) {
+                int key = src[i];
+                dst[offset[((key >>> shift) & 0xFF) ^ flip]++] = key;
+            }
+            int[] tmp = src;
+            src = dst;
+            dst = tmp;
+        }
+        // After an odd number of passes the result sits in the buffer.
+        if (src != arr) {
+            System.arraycopy(src, 0, arr, 0, n);
+        }
+    }
+
+    /** Builds the byte histograms of all 4 passes for arr[from..to) in a single read. */
+    private static int[][] histogram(int[] arr, int from, int to, int topFlip) {
+        int[][] counts = new int[4][RADIX];
+        int[] c0 = counts[0], c1 = counts[1], c2 = counts[2], c3 = counts[3];
+        for (int i = from; i < to; i++) {
+            int key = arr[i];
+            c0[key & 0xFF]++;
+            c1[(key >>> 8) & 0xFF]++;
+            c2[(key >>> 16) & 0xFF]++;
+            c3[(key >>> 24) ^ topFlip]++;
+        }
+        return counts;
+    }
+
+    /** Fork/join task that builds the histograms of its halves in parallel and adds them up. */
+    private static final class IntHistogramTask extends RecursiveTask<int[][]> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] arr;
+        private final int from;
+        private final int to;
+        private final int topFlip;
+
+        IntHistogramTask(int[] arr, int from, int to, int topFlip) {
+            this.arr = arr;
+            this.from = from;
+            this.to = to;
+            this.topFlip = topFlip;
+        }
+
+        @Override
+        protected int[][] compute() {
+            if (to - from <= PARALLEL_HISTOGRAM_THRESHOLD) {
+                return histogram(arr, from, to, topFlip);
+            }
+            int mid = (from + to) >>> 1;
+            IntHistogramTask right = new IntHistogramTask(arr, mid, to, topFlip);
+            right.fork();
+            int[][] counts = new IntHistogramTask(arr, from, mid, topFlip).compute();
+            addInto(counts, right.join());
+            return counts;
+        }
+    }
+
+    // ----------------------------------------------------------------------------------------
+    // 64-bit keys
+    // ----------------------------------------------------------------------------------------
+
+    /**
+     * LSD radix sort over the 8 bytes of each key.
+     *
+     * @param arr      The keys to be sorted.
+     * @param topFlip  XOR mask applied to the most significant byte (0x80 for signed keys, 0 for unsigned).
+     * @param parallel Whether the histogram phase may run on the common ForkJoinPool.
+     */
+    private static void sortKeys(long[] arr, int topFlip, boolean parallel) {
+        int n = arr.length;
+        int[][] counts = parallel && n >= PARALLEL_HISTOGRAM_THRESHOLD
+                ? ForkJoinPool.commonPool().invoke(new LongHistogramTask(arr, 0, n, topFlip))
+                : histogram(arr, 0, n, topFlip);
+
+        long[] src = arr;
+        long[] dst = null;
+        for (int pass = 0; pass < 8; pass++) {
+            int shift = pass << 3;
+            int flip = pass == 7 ? topFlip : 0;
+            int[] count = counts[pass];
+            if (count[((int) (src[0] >>> shift) & 0xFF) ^ flip] == n) {
+                continue;
+            }
+            if (dst == null) {
+                dst = new long[n];
+            }
+            int[] offset = new int[RADIX];
+            for (int d = 1; d < RADIX; d++) {
+                offset[d] = offset[d - 1] + count[d - 1];
+            }
+            for (int i = 0; i < n; i++) {
+                long key = src[i];
+                dst[offset[((int) (key >>> shift) & 0xFF) ^ flip]++] = key;
+            }
+            long[] tmp = src;
+            src = dst;
+            dst = tmp;
+        }
+        if (src != arr) {
+            System.arraycopy(src, 0, arr, 0, n);
+        }
+    }
+
+    /** Builds the byte histograms of all 8 passes for arr[from..to) in a single read. */
+    private static int[][] histogram(long[] arr, int from, int to, int topFlip) {
+        int[][] counts = new int[8][RADIX];
+        for (int i = from; i < to; i++) {
+            long key = arr[i];
+            for (int pass = 0; pass < 7; pass++) {
+                counts[pass][(int) (key >>> (pass << 3)) & 0xFF]++;
+            }
+            counts[7][(int) (key >>> 56) ^ topFlip]++;
+        }
+        return counts;
+    }
+
+    /** Fork/join task that builds the histograms of its halves in parallel and adds them up. */
+    private static final class LongHistogramTask extends RecursiveTask<int[][]> {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] arr;
+        private final int from;
+        private final int to;
+        private final int topFlip;
+
+        LongHistogramTask(long[] arr, int from, int to, int topFlip) {
+            this.arr = arr;
+            this.from = from;
+            this.to = to;
+            this.topFlip = topFlip;
+        }
+
+        @Override
+        protected int[][] compute() {
+            if (to - from <= PARALLEL_HISTOGRAM_THRESHOLD) {
+                return histogram(arr, from, to, topFlip);
+            }
+            int mid = (from + to) >>> 1;
+            LongHistogramTask right = new LongHistogramTask(arr, mid, to, topFlip);
+            right.fork();
+            int[][] counts = new LongHistogramTask(arr, from, mid, topFlip).compute();
+            addInto(counts, right.join());
+            return counts;
+        }
+    }
+
+    /** Adds every counter of 'other' into 'counts'. */
+    private static void addInto(int[][] counts, int[][] other) {
+        for (int pass = 0; pass < counts.length; pass++) {
+            for (int d = 0; d < RADIX; d++) {
+                counts[pass][d] += other[pass][d];
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        // -------------------------------------------------------------------------------------
+        // EASY TOPIC: Radix Sort on Integers
+        // -------------------------------------------------------------------------------------
+        // Negative numbers work too, thanks to the sign-bit flip on the top byte.
+        int[] ints = {170, -45, 75, -90, 802, 24, 2, 66, 0, -1};
+        System.out.println("Original int array: " + Arrays.toString(ints));
+        // Small arrays are handed to insertion sort, so use a bigger one to see real passes.
+        int[] manyInts = new int[1000];
+        for (int i = 0; i < manyInts.length; i++) {
+            manyInts[i] = (i * 7919) % 1000 - 500;
+        }
+        sort(ints);
+        sort(manyInts);
+        System.out.println("Sorted int array: " + Arrays.toString(ints));
+        System.out.println("First 10 of 1000 sorted ints: " + Arrays.toString(Arrays.copyOf(manyInts, 10)));
+
+        // -------------------------------------------------------------------------------------
+        // ADVANCED TOPIC: 64-bit and Floating Point Keys
+        // -------------------------------------------------------------------------------------
+        long[] longs = {Long.MAX_VALUE, -3L, 1L << 40, Long.MIN_VALUE, 0L};
+        sort(longs);
+        System.out.println("\nSorted long array: " + Arrays.toString(longs));
+
+        float[] floats = {3.5f, -0.0f, Float.NaN, -2.25f, 0.0f, Float.NEGATIVE_INFINITY, 1e-9f};
+        sort(floats);
+        System.out.println("Sorted float array: " + Arrays.toString(floats));
+
+        double[] doubles = {2.5, -1e300, Double.POSITIVE_INFINITY, -0.5, 0.0};
+        sort(doubles, true);
+        System.out.println("Sorted double array: " + Arrays.toString(doubles));
+
+        // -------------------------------------------------------------------------------------
+        // ADVANCED NOTES:
+        // -------------------------------------------------------------------------------------
+        // - Radix sort is O(n * w): for 32-bit keys that is at most 4 passes over the data,
+        //   no matter how large n is, while comparison sorts need about log2(n) levels.
+        // - It needs O(n) extra memory for the buffer, and it only works for keys that can be
+        //   split into digits (integers, floats via bit tricks, fixed-length strings).
+        // - For small arrays the fixed cost of 256-entry histograms dominates, which is why
+        //   small inputs go to insertion sort instead.
+    }
+}
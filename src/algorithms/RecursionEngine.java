@@ -0,0 +1,433 @@
+package algorithms;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * RecursionEngine fixes the two classic problems of recursive code: recomputing the same
+ * subproblems, and StackOverflowError on deep inputs.
+ *
+ * 1. MEMOIZATION WITH BOUNDED PRIMITIVE-KEYED CACHES
+ * --------------------------------------------------
+ * A recursive function is written with an extra parameter 'self' and calls self.apply(...)
+ * instead of calling itself directly. That lets the engine put a cache in between:
+ *
+ *   LongMemo fib = RecursionEngine.memoize(1024, (n, self) ->
+ *           n < 2 ? n : self.applyAsLong(n - 1) + self.applyAsLong(n - 2));
+ *
+ * The cache is keyed by the primitive argument (no Long boxing) and holds at most 'capacity'
+ * entries. It is direct-mapped like a CPU cache: every key has exactly one slot, and a new key
+ * evicts whatever was in its slot. Entries can also be evicted explicitly with evict() or clear().
+ *
+ * 2. TRAMPOLINES: RECURSION ON THE HEAP
+ * -------------------------------------
+ * Each Java call uses a stack frame, and the thread stack only fits some thousands of them.
+ * A Trampoline describes a computation instead of running it:
+ *   - done(value):      the result is known,
+ *   - more(() -> next): one more step, without growing the stack,
+ *   - t.flatMap(f):     run t, then continue with f(result of t).
+ * run() executes these steps in a loop and keeps the pending "continue with f" parts on an
+ * explicit ArrayDeque, so the depth of the recursion is limited by the heap, not the stack.
+ * memoizeStackSafe() combines both ideas.
+ *
+ * 3. STATISTICS
+ * -------------
+ * Every memoized function and every Trampoline.run(Stats) reports cache hits, misses and
+ * evictions, the number of trampoline steps, and the maximum recursion depth reached.
+ */
+public class RecursionEngine {
+
+    /** The counters collected by a memoized function or a trampoline run. */
+    public static final class Stats {
+        long hits;
+        long misses;
+        long evictions;
+        long steps;
+        int maxDepth;
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public long getSteps() {
+            return steps;
+        }
+
+        public int getMaxDepth() {
+            return maxDepth;
+        }
+
+        /** @return hits / (hits + misses), or 0 before the first lookup. */
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+
+        /** Records that recursion reached the given depth. */
+        void reached(int depth) {
+            if (depth > maxDepth) {
+                maxDepth = depth;
+            }
+        }
+
+        /** Sets every counter back to zero. */
+        public void reset() {
+            hits = 0;
+            misses = 0;
+            evictions = 0;
+            steps = 0;
+            maxDepth = 0;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{hits=" + hits + ", misses=" + misses + ", evictions=" + evictions
+                    + ", hitRate=" + String.format("%.3f", hitRate()) + ", steps=" + steps
+                    + ", maxDepth=" + maxDepth + "}";
+        }
+    }
+
+    // =========================================================================================
+    // 1. Memoization
+    // =========================================================================================
+
+    /** The body of a recursive long -> long function; recursive calls go through 'self'. */
+    @FunctionalInterface
+    public interface LongRecursion {
+        long apply(long n, LongUnaryOperator self);
+    }
+
+    /** The body of a recursive int -> R function, written with trampolines; see memoizeStackSafe. */
+    @FunctionalInterface
+    public interface IntRecursion<R> {
+        Trampoline<R> apply(int n, IntFunction<Trampoline<R>> self);
+    }
+
+    /**
+     * Memoizes a recursive long -> long function. Recursion runs on the normal Java stack,
+     * so this is the fastest option when the recursion is not too deep.
+     *
+     * @param capacity The maximum number of cached results (rounded up to a power of two).
+     * @param body     The function; it must call self.applyAsLong instead of itself.
+     * @return The memoized function.
+     */
+    public static LongMemo memoize(int capacity, LongRecursion body) {
+        return new LongMemo(capacity, body);
+    }
+
+    /**
+     * Memoizes a recursive int -> R function whose recursion runs on a trampoline, so that
+     * even a recursion depth of millions does not overflow the stack.
+     *
+     * @param capacity The maximum number of cached results (rounded up to a power of two).
+     * @param body     The function; it must build its result from self.apply(...) trampolines.
+     * @param <R>      The result type (results must not be null).
+     * @return The memoized function.
+     */
+    public static <R> IntMemo<R> memoizeStackSafe(int capacity, IntRecursion<R> body) {
+        return new IntMemo<>(capacity, body);
+    }
+
+    /** Rounds a requested capacity up to a power of two (at least 1). */
+    private static int slotCount(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity out of range: " + capacity);
+        }
+        return capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /** Spreads the key bits so that keys like 0, 1, 2, ... and 0, 1024, 2048, ... both use every slot. */
+    private static int slotOf(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    /** A memoized long -> long function with a direct-mapped long-keyed cache. */
+    public static final class LongMemo implements LongUnaryOperator {
+        private final LongRecursion body;
+        private final long[] keys;
+        private final long[] values;
+        private final boolean[] used;
+        private final int mask;
+        private final Stats stats = new Stats();
+        private int depth;
+
+        private LongMemo(int capacity, LongRecursion body) {
+            int slots = slotCount(capacity);
+            this.body = body;
+            this.keys = new long[slots];
+            this.values = new long[slots];
+            this.used = new boolean[slots];
+            this.mask = slots - 1;
+        }
+
+        @Override
+        public long applyAsLong(long n) {
+            int slot = slotOf(n, mask);
+            if (used[slot] && keys[slot] == n) {
+                stats.hits++;
+                return values[slot];
+            }
+            stats.misses++;
+            stats.reached(++depth);
+            long result;
+            try {
+                result = body.apply(n, this);
+            } finally {
+                depth--;
+            }
+            // The recursive calls may have filled this slot in the meantime; either way it is replaced.
+            if (used[slot] && keys[slot] != n) {
+                stats.evictions++;
+            }
+            keys[slot] = n;
+            values[slot] = result;
+            used[slot] = true;
+            return result;
+        }
+
+        /** Removes the cached result for n, if there is one. */
+        public void evict(long n) {
+            int slot = slotOf(n, mask);
+            if (used[slot] && keys[slot] == n) {
+                used[slot] = false;
+            }
+        }
+
+        /** Removes every cached result (the statistics are kept). */
+        public void clear() {
+            Arrays.fill(used, false);
+        }
+
+        /** @return The cache hit/miss/eviction counters and the deepest recursion reached. */
+        public Stats stats() {
+            return stats;
+        }
+    }
+
+    /** A memoized int -> R function that recurses on a trampoline, with a direct-mapped int-keyed cache. */
+    public static final class IntMemo<R> {
+        private final IntRecursion<R> body;
+        private final int[] keys;
+        private final Object[] values;   // null = empty slot
+        private final int mask;
+        private final Stats stats = new Stats();
+        private final IntFunction<Trampoline<R>> self = this::call;
+
+        private IntMemo(int capacity, IntRecursion<R> body) {
+            int slots = slotCount(capacity);
+            this.body = body;
+            this.keys = new int[slots];
+            this.values = new Object[slots];
+            this.mask = slots - 1;
+        }
+
+        /**
+         * Computes the function for n (or returns the cached result).
+         *
+         * @param n The argument.
+         * @return The result.
+         */
+        public R apply(int n) {
+            return call(n).run(stats);
+        }
+
+        /** The trampoline handed to the body as 'self': a cache hit, or the body followed by a cache store. */
+        private Trampoline<R> call(int n) {
+            int slot = slotOf(n, mask);
+            @SuppressWarnings("unchecked")
+            R cached = keys[slot] == n ? (R) values[slot] : null;
+            if (cached != null) {
+                stats.hits++;
+                return Trampoline.done(cached);
+            }
+            stats.misses++;
+            return Trampoline.more(() -> body.apply(n, self)).map(result -> {
+                if (result == null) {
+                    throw new IllegalStateException("Memoized function returned null for " + n);
+                }
+                if (values[slot] != null && keys[slot] != n) {
+                    stats.evictions++;
+                }
+                keys[slot] = n;
+                values[slot] = result;
+                return result;
+            });
+        }
+
+        /** Removes the cached result for n, if there is one. */
+        public void evict(int n) {
+            int slot = slotOf(n, mask);
+            if (keys[slot] == n) {
+                values[slot] = null;
+            }
+        }
+
+        /** Removes every cached result (the statistics are kept). */
+        public void clear() {
+            Arrays.fill(values, null);
+        }
+
+        /** @return The cache counters, the trampoline steps and the deepest recursion reached. */
+        public Stats stats() {
+            return stats;
+        }
+    }
+
+    // =========================================================================================
+    // 2. Trampolines
+    // =========================================================================================
+
+    /**
+     * A computation that produces a T, executed step by step by run() instead of by nested calls.
+     *
+     * @param <T> The result type.
+     */
+    public abstract static class Trampoline<T> {
+
+        private Trampoline() {
+        }
+
+        /** A finished computation. */
+        public static <T> Trampoline<T> done(T value) {
+            return new Done<>(value);
+        }
+
+        /** One more step: 'next' is only called by run(), so the current call returns first. */
+        public static <T> Trampoline<T> more(Supplier<Trampoline<T>> next) {
+            return new More<>(next);
+        }
+
+        /** Runs this computation, then continues with f(result). */
+        public <R> Trampoline<R> flatMap(Function<? super T, Trampoline<R>> f) {
+            return new FlatMap<>(this, f);
+        }
+
+        /** Runs this computation and transforms its result with f. */
+        public <R> Trampoline<R> map(Function<? super T, ? extends R> f) {
+            return flatMap(value -> done(f.apply(value)));
+        }
+
+        /**
+         * Executes the computation.
+         *
+         * @return The result.
+         */
+        public T run() {
+            return run(new Stats());
+        }
+
+        /**
+         * Executes the computation, adding the number of steps and the maximum depth to 'stats'.
+         * The depth is the number of pending continuations, i.e. the stack frames a plain
+         * recursive version would have needed.
+         *
+         * @param stats The statistics to update.
+         * @return The result.
+         */
+        @SuppressWarnings("unchecked")
+        public T run(Stats stats) {
+            Deque<Function<? super Object, Trampoline<Object>>> continuations = new ArrayDeque<>();
+            Trampoline<Object> current = (Trampoline<Object>) this;
+            while (true) {
+                stats.steps++;
+                if (current instanceof FlatMap) {
+                    FlatMap<Object, Object> step = (FlatMap<Object, Object>) current;
+                    continuations.push(step.f);
+                    stats.reached(continuations.size());
+                    current = step.source;
+                } else if (current instanceof More) {
+                    current = ((More<Object>) current).next.get();
+                } else {
+                    Object value = ((Done<Object>) current).value;
+                    if (continuations.isEmpty()) {
+                        return (T) value;
+                    }
+                    current = continuations.pop().apply(value);
+                }
+            }
+        }
+    }
+
+    private static final class Done<T> extends Trampoline<T> {
+        final T value;
+
+        Done(T value) {
+            this.value = value;
+        }
+    }
+
+    private static final class More<T> extends Trampoline<T> {
+        final Supplier<Trampoline<T>> next;
+
+        More(Supplier<Trampoline<T>> next) {
+            this.next = next;
+        }
+    }
+
+    private static final class FlatMap<S, T> extends Trampoline<T> {
+        final Trampoline<S> source;
+        final Function<? super S, Trampoline<T>> f;
+
+        FlatMap(Trampoline<S> source, Function<? super S, Trampoline<T>> f) {
+            this.source = source;
+            this.f = f;
+        }
+    }
+
+    /** Plain (not memoized) recursive sum 1 + 2 + ... + n on a trampoline, for the demo. */
+    private static Trampoline<Long> sumTo(long n) {
+        if (n == 0) {
+            return Trampoline.done(0L);
+        }
+        return Trampoline.more(() -> sumTo(n - 1)).map(rest -> rest + n);
+    }
+
+    public static void main(String[] args) {
+        // -------------------------------------------------------------------------------------
+        // EXAMPLE 1: Memoized Fibonacci (the same recursion as DetailedRecursionExample)
+        // -------------------------------------------------------------------------------------
+        LongMemo fib = memoize(128, (n, self) -> n < 2 ? n : self.applyAsLong(n - 1) + self.applyAsLong(n - 2));
+        System.out.println("fib(90) = " + fib.applyAsLong(90));   // 2880067194370816120
+        System.out.println(fib.stats());   // 91 misses instead of about 10^19 calls
+
+        // -------------------------------------------------------------------------------------
+        // EXAMPLE 2: Deep Recursion Without StackOverflowError
+        // -------------------------------------------------------------------------------------
+        Stats sumStats = new Stats();
+        System.out.println("\nsumTo(1,000,000) = " + sumTo(1_000_000).run(sumStats));   // 500000500000
+        System.out.println(sumStats);   // maxDepth 1,000,000: far more than the Java stack allows
+
+        // -------------------------------------------------------------------------------------
+        // EXAMPLE 3: Both at Once (memoized BigInteger Fibonacci, 100,000 levels deep)
+        // -------------------------------------------------------------------------------------
+        IntMemo<BigInteger> bigFib = memoizeStackSafe(1 << 17, (n, self) -> n < 2
+                ? Trampoline.done(BigInteger.valueOf(n))
+                : self.apply(n - 1).flatMap(a -> self.apply(n - 2).map(a::add)));
+        System.out.println("\nfib(100,000) has " + bigFib.apply(100_000).bitLength() + " bits");
+        System.out.println(bigFib.stats());
+
+        // -------------------------------------------------------------------------------------
+        // ADVANCED NOTES:
+        // -------------------------------------------------------------------------------------
+        // - A direct-mapped cache never grows and needs no LRU bookkeeping; the price is that
+        //   two hot keys sharing a slot keep evicting each other (watch getEvictions()).
+        // - Trampolines allocate a few small objects per step, so they are slower than plain
+        //   recursion. Use them for depth, not for speed; BigIntegerMath.fibonacci is far faster.
+        // - See IDetailedBinaryTreeExample.height for a trampolined tree recursion.
+    }
+}
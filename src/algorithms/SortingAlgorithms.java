@@ -5,6 +5,11 @@ import java.util.Comparator;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
 
 public class SortingAlgorithms {
 
@@ -74,13 +79,24 @@ public class SortingAlgorithms {
      * @param arr The array of integers to be sorted.
      */
     public static void insertionSort(int[] arr) {
-        int n = arr.length;
-        // Start from the second element.
-        for (int i = 1; i < n; i++) {
+        insertionSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * Insertion Sort on the segment arr[left..right] (both ends inclusive, like mergeSort).
+     * Divide-and-conquer sorts use this as their base case for small segments.
+     *
+     * @param arr   The array containing the segment to be sorted.
+     * @param left  The starting index of the segment.
+     * @param right The ending index of the segment.
+     */
+    public static void insertionSort(int[] arr, int left, int right) {
+        // Start from the second element of the segment.
+        for (int i = left + 1; i <= right; i++) {
             int key = arr[i];  // Element to be inserted in the sorted part.
             int j = i - 1;
             // Move elements that are greater than key one position ahead.
-            while (j >= 0 && arr[j] > key) {
+            while (j >= left && arr[j] > key) {
                 arr[j + 1] = arr[j];
                 j--;
             }
@@ -154,6 +170,523 @@ public class SortingAlgorithms {
         }
     }
 
+    // ----------------------------------------------------------------------------------------
+    // ADVANCED TOPICS: Parallel Merge Sort (Fork/Join with a single scratch buffer)
+    // ----------------------------------------------------------------------------------------
+    // The mergeSort above allocates two new arrays in every merge() call and runs on one thread.
+    // parallelMergeSort fixes both problems:
+    // 1. ONE auxiliary buffer is allocated per sort. Each recursion level "ping-pongs": it sorts
+    //    its two halves INTO the other array, then merges them back, so no copying is needed.
+    // 2. The two halves are independent, so they are sorted as ForkJoinPool tasks. Idle worker
+    //    threads steal pending halves, which keeps every core busy.
+    // 3. Small segments are finished with insertionSort, which beats recursion for tiny inputs.
+
+    /** Segments of at most this many elements are finished with insertionSort by default. */
+    public static final int DEFAULT_INSERTION_SORT_CUTOFF = 32;
+
+    /** Segments smaller than this are never split into separate fork/join tasks. */
+    private static final int MIN_PARALLEL_CHUNK = 1 << 13;
+
+    /**
+     * Sorts the whole array with a parallel merge sort on the common ForkJoinPool.
+     *
+     * @param arr The array of integers to be sorted.
+     */
+    public static void parallelMergeSort(int[] arr) {
+        parallelMergeSort(arr, DEFAULT_INSERTION_SORT_CUTOFF, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sorts the whole array with a parallel merge sort on the common ForkJoinPool.
+     *
+     * @param arr                 The array of integers to be sorted.
+     * @param insertionSortCutoff Segments of at most this many elements use insertionSort.
+     */
+    public static void parallelMergeSort(int[] arr, int insertionSortCutoff) {
+        parallelMergeSort(arr, insertionSortCutoff, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sorts the whole array with a parallel merge sort on the given pool.
+     *
+     * @param arr                 The array of integers to be sorted.
+     * @param insertionSortCutoff Segments of at most this many elements use insertionSort.
+     * @param pool                The pool whose worker threads sort the halves.
+     */
+    public static void parallelMergeSort(int[] arr, int insertionSortCutoff, ForkJoinPool pool) {
+        if (insertionSortCutoff < 1) {
+            throw new IllegalArgumentException("insertionSortCutoff must be at least 1: " + insertionSortCutoff);
+        }
+        int n = arr.length;
+        if (n <= insertionSortCutoff) {
+            insertionSort(arr, 0, n - 1);
+            return;
+        }
+        // The only allocation of the whole sort: a copy of the input to ping-pong with.
+        int[] buffer = arr.clone();
+        // Aim for a few tasks per worker so work stealing can balance uneven segments.
+        int parallelThreshold = Math.max(MIN_PARALLEL_CHUNK, n / (pool.getParallelism() << 2));
+        if (n <= parallelThreshold) {
+            sortInto(buffer, arr, 0, n - 1, insertionSortCutoff);
+        } else {
+            pool.invoke(new MergeSortTask(buffer, arr, 0, n - 1, insertionSortCutoff, parallelThreshold));
+        }
+    }
+
+    /**
+     * Sequential ping-pong merge sort. On entry src and dst hold the same values in [left..right];
+     * on exit dst[left..right] is sorted (src is used as scratch space).
+     */
+    private static void sortInto(int[] src, int[] dst, int left, int right, int insertionSortCutoff) {
+        if (right - left < insertionSortCutoff) {
+            insertionSort(dst, left, right);
+            return;
+        }
+        int mid = left + (right - left) / 2;
+        // Swap the roles of the arrays: the halves end up sorted in src...
+        sortInto(dst, src, left, mid, insertionSortCutoff);
+        sortInto(dst, src, mid + 1, right, insertionSortCutoff);
+        // ...and are merged back into dst.
+        merge(src, dst, left, mid, right);
+    }
+
+    /**
+     * Merges the sorted runs src[left..mid] and src[mid+1..right] into dst[left..right].
+     * Unlike merge(int[], int, int, int) it allocates nothing, because the caller owns both arrays.
+     *
+     * @param src   The array containing the two sorted runs.
+     * @param dst   The array that receives the merged result.
+     * @param left  The starting index of the first run.
+     * @param mid   The ending index of the first run.
+     * @param right The ending index of the second run.
+     */
+    public static void merge(int[] src, int[] dst, int left, int mid, int right) {
+        // Already in order: the two runs can be copied across unchanged.
+        if (src[mid] <= src[mid + 1]) {
+            System.arraycopy(src, left, dst, left, right - left + 1);
+            return;
+        }
+        int i = left, j = mid + 1, k = left;
+        while (i <= mid && j <= right) {
+            // '<=' takes from the left run on ties, which keeps the sort stable.
+            if (src[i] <= src[j]) {
+                dst[k++] = src[i++];
+            } else {
+                dst[k++] = src[j++];
+            }
+        }
+        // Copy whichever run still has elements left.
+        if (i <= mid) {
+            System.arraycopy(src, i, dst, k, mid - i + 1);
+        } else if (j <= right) {
+            System.arraycopy(src, j, dst, k, right - j + 1);
+        }
+    }
+
+    /**
+     * Fork/join task running the same ping-pong recursion as sortInto(), forking the two
+     * halves while the segment is larger than the parallel threshold.
+     */
+    private static final class MergeSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] src;
+        private final int[] dst;
+        private final int left;
+        private final int right;
+        private final int insertionSortCutoff;
+        private final int parallelThreshold;
+
+        MergeSortTask(int[] src, int[] dst, int left, int right, int insertionSortCutoff, int parallelThreshold) {
+            this.src = src;
+            this.dst = dst;
+            this.left = left;
+            this.right = right;
+            this.insertionSortCutoff = insertionSortCutoff;
+            this.parallelThreshold = parallelThreshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (right - left < parallelThreshold) {
+                sortInto(src, dst, left, right, insertionSortCutoff);
+                return;
+            }
+            int mid = left + (right - left) / 2;
+            // Both halves write into different ranges of src, so they can run at the same time.
+            invokeAll(new MergeSortTask(dst, src, left, mid, insertionSortCutoff, parallelThreshold),
+                    new MergeSortTask(dst, src, mid + 1, right, insertionSortCutoff, parallelThreshold));
+            merge(src, dst, left, mid, right);
+        }
+    }
+
+    // ----------------------------------------------------------------------------------------
+    // ADVANCED TOPICS: Adaptive Sorting (choosing the algorithm from the input)
+    // ----------------------------------------------------------------------------------------
+    // Real inputs are rarely random: they are often already sorted, reversed, or made of a few
+    // long sorted "runs" (for example, several sorted batches appended to each other).
+    // sort(int[]) first scans the array for these natural runs (reversing descending runs in
+    // place) and then picks the cheapest strategy:
+    // - tiny arrays               -> insertion sort
+    // - one run                   -> nothing left to do (ALREADY_SORTED or REVERSED)
+    // - a few runs                -> merge neighbouring runs (O(n log r) for r runs)
+    // - many runs (random-ish)    -> radix sort for large arrays, merge sort otherwise
+    // The chosen strategy is returned so callers can log or trace it.
+
+    /** The strategies sort(int[]) can choose from. */
+    public enum SortStrategy {
+        /** The array was small, so it was sorted with insertionSort. */
+        INSERTION_SORT,
+        /** The array was already in ascending order; nothing was moved. */
+        ALREADY_SORTED,
+        /** The array was in descending order and was reversed in place. */
+        REVERSED,
+        /** The array consisted of a few natural runs, which were merged together. */
+        RUN_MERGE,
+        /** The array had no useful structure and was large, so it was radix sorted. */
+        RADIX_SORT,
+        /** The array had no useful structure, so it was merge sorted. */
+        MERGE_SORT
+    }
+
+    /** Arrays of at most this many elements are always insertion sorted. */
+    private static final int ADAPTIVE_INSERTION_SORT_THRESHOLD = 64;
+
+    /** With more natural runs than this, the input is treated as unstructured. */
+    private static final int MAX_RUN_COUNT = 64;
+
+    /** Unstructured arrays of at least this many elements are radix sorted instead of merge sorted. */
+    private static final int ADAPTIVE_RADIX_SORT_THRESHOLD = 1 << 12;
+
+    /**
+     * Sorts the array with the strategy that best fits its existing order.
+     *
+     * @param arr The array of integers to be sorted.
+     * @return The strategy that was used.
+     */
+    public static SortStrategy sort(int[] arr) {
+        int n = arr.length;
+        if (n <= ADAPTIVE_INSERTION_SORT_THRESHOLD) {
+            insertionSort(arr, 0, n - 1);
+            return SortStrategy.INSERTION_SORT;
+        }
+
+        // runStart[r] is the first index of run r; runStart[runCount] == n marks the end.
+        int[] runStart = new int[MAX_RUN_COUNT + 1];
+        int runCount = 0;
+        boolean descendingOnly = true;
+        for (int start = 0; start < n; ) {
+            if (runCount == MAX_RUN_COUNT) {
+                // Too many runs: the scan found no useful structure. Any runs reversed so far are
+                // still valid data, so fall through to a general-purpose sort.
+                return sortUnstructured(arr);
+            }
+            runStart[runCount++] = start;
+            int end = start + 1;
+            if (end < n && arr[end] < arr[start]) {
+                // Strictly descending run: find its end and reverse it into an ascending run.
+                while (end < n && arr[end] < arr[end - 1]) {
+                    end++;
+                }
+                reverse(arr, start, end - 1);
+            } else {
+                // Ascending (non-descending) run.
+                while (end < n && arr[end] >= arr[end - 1]) {
+                    end++;
+                }
+                descendingOnly = false;
+            }
+            start = end;
+        }
+        runStart[runCount] = n;
+
+        if (runCount == 1) {
+            return descendingOnly ? SortStrategy.REVERSED : SortStrategy.ALREADY_SORTED;
+        }
+        mergeRuns(arr, runStart, runCount);
+        return SortStrategy.RUN_MERGE;
+    }
+
+    /** Sorts an array that has no useful run structure. */
+    private static SortStrategy sortUnstructured(int[] arr) {
+        if (arr.length >= ADAPTIVE_RADIX_SORT_THRESHOLD) {
+            RadixSort.sort(arr);
+            return SortStrategy.RADIX_SORT;
+        }
+        parallelMergeSort(arr);
+        return SortStrategy.MERGE_SORT;
+    }
+
+    /** Reverses arr[left..right] in place. */
+    private static void reverse(int[] arr, int left, int right) {
+        while (left < right) {
+            int temp = arr[left];
+            arr[left++] = arr[right];
+            arr[right--] = temp;
+        }
+    }
+
+    /**
+     * Bottom-up merge of sorted runs, ping-ponging between arr and one buffer.
+     * Every round merges neighbouring pairs of runs, halving the number of runs.
+     */
+    private static void mergeRuns(int[] arr, int[] runStart, int runCount) {
+        int[] src = arr;
+        int[] dst = new int[arr.length];
+        while (runCount > 1) {
+            int merged = 0;
+            for (int r = 0; r < runCount; r += 2) {
+                int left = runStart[r];
+                if (r + 1 < runCount) {
+                    merge(src, dst, left, runStart[r + 1] - 1, runStart[r + 2] - 1);
+                } else {
+                    // An odd run out is copied across unchanged.
+                    System.arraycopy(src, left, dst, left, runStart[r + 1] - left);
+                }
+                runStart[merged++] = left;
+            }
+            runStart[merged] = arr.length;
+            runCount = merged;
+            int[] tmp = src;
+            src = dst;
+            dst = tmp;
+        }
+        if (src != arr) {
+            System.arraycopy(src, 0, arr, 0, arr.length);
+        }
+    }
+
+    // ----------------------------------------------------------------------------------------
+    // ADVANCED TOPICS: Selection (k-th smallest, Top-K, Partial Sort)
+    // ----------------------------------------------------------------------------------------
+    // Many questions only need part of the sorted order: "what is the median?", "what are the
+    // 10 largest values?". Sorting everything costs O(n log n); selection costs O(n).
+    // - QUICKSELECT partitions around a pivot like quick sort, but only continues into the side
+    //   that contains position k. On average that is n + n/2 + n/4 + ... = O(n) work.
+    // - Bad pivots can make quickselect O(n^2). INTROSELECT counts the partitioning rounds and,
+    //   once a budget of about 2*log2(n) is used up, switches to MEDIAN-OF-MEDIANS pivots, which
+    //   always discard a constant fraction of the elements and guarantee O(n).
+    // - For streams that are too big to keep, a BOUNDED MIN-HEAP of size k holds the k largest
+    //   values seen so far: O(n log k) time and O(k) memory.
+
+    /** Segments at most this large are finished with insertion sort during selection. */
+    private static final int SELECT_INSERTION_SORT_THRESHOLD = 16;
+
+    /**
+     * Returns the k-th smallest value (k = 0 is the minimum) and rearranges the array so that
+     * arr[k] holds it, everything before it is smaller or equal, and everything after it is larger or equal.
+     * Use k = arr.length / 2 for the median.
+     *
+     * @param arr The array to select from (it is reordered).
+     * @param k   The 0-based rank of the value to find.
+     * @return The k-th smallest value.
+     */
+    public static int selectKth(int[] arr, int k) {
+        if (k < 0 || k >= arr.length) {
+            throw new IllegalArgumentException("k must be in [0, " + arr.length + "): " + k);
+        }
+        introSelect(arr, 0, arr.length - 1, k);
+        return arr[k];
+    }
+
+    /**
+     * Rearranges the array so that arr[0..k) holds the k smallest values in ascending order.
+     * The order of the remaining values is unspecified. A k larger than the array sorts all of it.
+     *
+     * @param arr The array to partially sort.
+     * @param k   How many of the smallest values to put in order at the front.
+     */
+    public static void partialSort(int[] arr, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        if (k >= arr.length) {
+            sort(arr);
+            return;
+        }
+        if (k == 0) {
+            return;
+        }
+        // Move the k smallest values to the front, then sort only those.
+        introSelect(arr, 0, arr.length - 1, k - 1);
+        Arrays.sort(arr, 0, k);
+    }
+
+    /**
+     * Returns the k largest values in descending order. The input array is not modified.
+     * If k is larger than the array, all values are returned.
+     *
+     * @param arr The values to choose from.
+     * @param k   How many of the largest values to return.
+     * @return A new array with the k largest values, largest first.
+     */
+    public static int[] topK(int[] arr, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        int n = arr.length;
+        k = Math.min(k, n);
+        if (k == 0) {
+            return new int[0];
+        }
+        int[] copy = arr.clone();
+        // After selecting rank n - k, copy[n-k..n) holds the k largest values.
+        introSelect(copy, 0, n - 1, n - k);
+        int[] result = Arrays.copyOfRange(copy, n - k, n);
+        Arrays.sort(result);
+        reverse(result, 0, k - 1);
+        return result;
+    }
+
+    /**
+     * Returns the k largest values of a stream in descending order, keeping only k values in memory.
+     *
+     * @param values The values to choose from.
+     * @param k      How many of the largest values to return.
+     * @return A new array with the (at most) k largest values, largest first.
+     */
+    public static int[] topK(IntStream values, int k) {
+        return topK(values.iterator(), k);
+    }
+
+    /**
+     * Returns the k largest values of an iterator in descending order, keeping only k values in memory.
+     *
+     * @param values The values to choose from.
+     * @param k      How many of the largest values to return.
+     * @return A new array with the (at most) k largest values, largest first.
+     */
+    public static int[] topK(PrimitiveIterator.OfInt values, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        // A min-heap of the k largest values seen so far: heap[0] is the smallest of them,
+        // so a new value only gets in if it beats heap[0].
+        int[] heap = new int[k];
+        int size = 0;
+        while (values.hasNext()) {
+            int value = values.nextInt();
+            if (size < k) {
+                heap[size] = value;
+                siftUp(heap, size++);
+            } else if (k > 0 && value > heap[0]) {
+                heap[0] = value;
+                siftDown(heap, 0, size);
+            }
+        }
+        // Pop the minimum repeatedly and fill the result from the back: largest values end up first.
+        int[] result = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            result[i] = heap[0];
+            heap[0] = heap[--size];
+            siftDown(heap, 0, size);
+        }
+        return result;
+    }
+
+    /** Moves heap[index] up until its parent is not larger. */
+    private static void siftUp(int[] heap, int index) {
+        int value = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] <= value) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = value;
+    }
+
+    /** Moves heap[index] down until neither child is smaller. */
+    private static void siftDown(int[] heap, int index, int size) {
+        int value = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (value <= heap[child]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        if (index < size) {
+            heap[index] = value;
+        }
+    }
+
+    /**
+     * Introselect: places the k-th smallest value of arr[left..right] at index k.
+     * Uses median-of-three pivots until the round budget runs out, then median-of-medians.
+     */
+    private static void introSelect(int[] arr, int left, int right, int k) {
+        int budget = 2 * (32 - Integer.numberOfLeadingZeros(right - left + 1));
+        while (right - left >= SELECT_INSERTION_SORT_THRESHOLD) {
+            int pivot = budget-- > 0
+                    ? arr[medianOfThree(arr, left, left + (right - left) / 2, right)]
+                    : arr[medianOfMedians(arr, left, right)];
+
+            // Three-way partition: [left, lt) < pivot, [lt, gt] == pivot, (gt, right] > pivot.
+            // Grouping the equal values makes inputs with many duplicates fast too.
+            int lt = left, i = left, gt = right;
+            while (i <= gt) {
+                int value = arr[i];
+                if (value < pivot) {
+                    arr[i++] = arr[lt];
+                    arr[lt++] = value;
+                } else if (value > pivot) {
+                    arr[i] = arr[gt];
+                    arr[gt--] = value;
+                } else {
+                    i++;
+                }
+            }
+
+            // Continue only in the part that contains position k.
+            if (k < lt) {
+                right = lt - 1;
+            } else if (k > gt) {
+                left = gt + 1;
+            } else {
+                return;
+            }
+        }
+        insertionSort(arr, left, right);
+    }
+
+    /** Returns the index (a, b or c) holding the median of the three values. */
+    private static int medianOfThree(int[] arr, int a, int b, int c) {
+        if (arr[a] < arr[b]) {
+            return arr[b] < arr[c] ? b : (arr[a] < arr[c] ? c : a);
+        }
+        return arr[a] < arr[c] ? a : (arr[b] < arr[c] ? c : b);
+    }
+
+    /**
+     * Median-of-medians: returns the index of a pivot that is guaranteed to have at least about
+     * 30% of arr[left..right] on each side. The medians of groups of 5 are gathered at the front
+     * of the range, and their median is found recursively.
+     */
+    private static int medianOfMedians(int[] arr, int left, int right) {
+        int medians = 0;
+        for (int groupStart = left; groupStart <= right; groupStart += 5) {
+            int groupEnd = Math.min(groupStart + 4, right);
+            insertionSort(arr, groupStart, groupEnd);
+            int median = groupStart + (groupEnd - groupStart) / 2;
+            // Swap this group's median to the front of the range.
+            int slot = left + medians++;
+            int temp = arr[slot];
+            arr[slot] = arr[median];
+            arr[median] = temp;
+        }
+        int middle = left + (medians - 1) / 2;
+        introSelect(arr, left, left + medians - 1, middle);
+        return middle;
+    }
+
     // ----------------------------------------------------------------------------------------
     // ADVANCED TOPICS: Custom Object Sorting (Using Comparable and Comparator)
     // ----------------------------------------------------------------------------------------
@@ -221,6 +754,208 @@ public class SortingAlgorithms {
         System.out.println("After sorting by name descending (custom order using lambda): " + Arrays.toString(people));
     }
 
+    // ----------------------------------------------------------------------------------------
+    // ADVANCED TOPICS: Key-Extraction Sorting (no Comparator call per comparison)
+    // ----------------------------------------------------------------------------------------
+    // Sorting objects with compareTo() or a Comparator costs a virtual call and a pointer chase
+    // on every one of the O(n log n) comparisons. Key extraction reads each object ONCE per key:
+    // 1. Project every object to a primitive key and pack it into a long together with the
+    //    object's current position: (key << 32) | position.
+    // 2. Sort the longs with a primitive sort (RadixSort). Equal keys are ordered by position,
+    //    so the result is stable, exactly like TimSort.
+    // 3. The low 32 bits of each sorted long now describe the new order; the objects themselves
+    //    are permuted only once, at the very end.
+    // Secondary keys work like an LSD radix sort: sort by the least important key first, then
+    // stably by the more important keys, so ties on the primary key keep the secondary order.
+
+    /** Name groups at most this large are ordered with a plain (stable) insertion sort. */
+    private static final int NAME_INSERTION_SORT_THRESHOLD = 32;
+
+    /**
+     * Stably sorts objects by one or more int keys, most important key first.
+     *
+     * @param items The objects to be sorted.
+     * @param keys  The key extractors; ties on keys[0] are broken by keys[1], and so on.
+     * @param <T>   The type of the objects.
+     */
+    @SafeVarargs
+    public static <T> void sortByIntKeys(T[] items, ToIntFunction<? super T>... keys) {
+        int[] order = identityOrder(items.length);
+        // Least important key first: every later pass is stable and keeps the earlier order for ties.
+        for (int k = keys.length - 1; k >= 0; k--) {
+            refineOrderByIntKey(items, order, keys[k]);
+        }
+        applyOrder(items, order);
+    }
+
+    /**
+     * Stably sorts people by age (the same order as Arrays.sort(people)).
+     *
+     * @param people The people to be sorted.
+     */
+    public static void sortPeopleByAge(Person[] people) {
+        sortByIntKeys(people, p -> p.age);
+    }
+
+    /**
+     * Stably sorts people by name (the same order as String.compareTo()).
+     *
+     * @param people The people to be sorted.
+     */
+    public static void sortPeopleByName(Person[] people) {
+        int[] order = identityOrder(people.length);
+        refineOrderByName(people, order, 0, people.length, 0);
+        applyOrder(people, order);
+    }
+
+    /**
+     * Stably sorts people by age, and people of the same age by name.
+     *
+     * @param people The people to be sorted.
+     */
+    public static void sortPeopleByAgeThenName(Person[] people) {
+        int[] order = identityOrder(people.length);
+        refineOrderByName(people, order, 0, people.length, 0);
+        refineOrderByIntKey(people, order, p -> p.age);
+        applyOrder(people, order);
+    }
+
+    /**
+     * Stably sorts people by name, and people with the same name by age.
+     *
+     * @param people The people to be sorted.
+     */
+    public static void sortPeopleByNameThenAge(Person[] people) {
+        int[] order = identityOrder(people.length);
+        refineOrderByIntKey(people, order, p -> p.age);
+        refineOrderByName(people, order, 0, people.length, 0);
+        applyOrder(people, order);
+    }
+
+    /** Returns {0, 1, ..., n - 1}: the order of an array that has not been sorted yet. */
+    private static int[] identityOrder(int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+
+    /**
+     * Stably re-sorts 'order' (indexes into items) by one int key.
+     * Each object is read once, and the packed (key, position) longs are radix sorted.
+     */
+    private static <T> void refineOrderByIntKey(T[] items, int[] order, ToIntFunction<? super T> key) {
+        int n = order.length;
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            // The key goes in the high half (signed, so negative keys sort first), the position in the low half.
+            packed[i] = ((long) key.applyAsInt(items[order[i]]) << 32) | i;
+        }
+        RadixSort.sort(packed);
+        int[] previous = order.clone();
+        for (int i = 0; i < n; i++) {
+            order[i] = previous[(int) packed[i]];
+        }
+    }
+
+    /**
+     * Stably re-sorts order[from..to) by name, assuming all names there share their first 'depth' chars.
+     * The next two chars of each name form a 32-bit prefix key that is packed and radix sorted like an
+     * int key. Groups that still tie on the prefix are refined on the following two chars, and small
+     * groups are finished with an insertion sort that compares the full names.
+     */
+    private static void refineOrderByName(Person[] people, int[] order, int from, int to, int depth) {
+        int n = to - from;
+        if (n <= NAME_INSERTION_SORT_THRESHOLD || allNamesEndBy(people, order, from, to, depth)) {
+            insertionSortByName(people, order, from, to);
+            return;
+        }
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            String name = people[order[from + i]].name;
+            // Chars are unsigned 16-bit values; a missing char counts as 0 so shorter names sort first.
+            int prefix = (charOrZero(name, depth) << 16) | charOrZero(name, depth + 1);
+            // Flip the sign bit so the unsigned prefix order survives the signed long sort.
+            packed[i] = ((long) (prefix ^ Integer.MIN_VALUE) << 32) | i;
+        }
+        RadixSort.sort(packed);
+        int[] previous = Arrays.copyOfRange(order, from, to);
+        for (int i = 0; i < n; i++) {
+            order[from + i] = previous[(int) packed[i]];
+        }
+        // Refine every group of names that share the same prefix.
+        int groupStart = 0;
+        for (int i = 1; i <= n; i++) {
+            if (i == n || (packed[i] >>> 32) != (packed[groupStart] >>> 32)) {
+                if (i - groupStart > 1) {
+                    refineOrderByName(people, order, from + groupStart, from + i, depth + 2);
+                }
+                groupStart = i;
+            }
+        }
+    }
+
+    /** Returns the char at 'index', or 0 if the string is shorter. */
+    private static int charOrZero(String s, int index) {
+        return index < s.length() ? s.charAt(index) : 0;
+    }
+
+    /** True if no name in order[from..to) has chars at or beyond 'depth'. */
+    private static boolean allNamesEndBy(Person[] people, int[] order, int from, int to, int depth) {
+        for (int i = from; i < to; i++) {
+            if (people[order[i]].name.length() > depth) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Stable insertion sort of order[from..to) comparing the full names. */
+    private static void insertionSortByName(Person[] people, int[] order, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int index = order[i];
+            String name = people[index].name;
+            int j = i - 1;
+            while (j >= from && people[order[j]].name.compareTo(name) > 0) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = index;
+        }
+    }
+
+    /** Permutes the objects once: position i receives the object that was at order[i]. */
+    private static <T> void applyOrder(T[] items, int[] order) {
+        T[] previous = items.clone();
+        for (int i = 0; i < items.length; i++) {
+            items[i] = previous[order[i]];
+        }
+    }
+
+    /**
+     * Demonstrates key-extraction sorting of Person objects, including a secondary key.
+     */
+    public static void keyExtractionSortingExample() {
+        Person[] people = {
+                new Person("Dave", 30),
+                new Person("Alice", 25),
+                new Person("Charlie", 30),
+                new Person("Bob", 25),
+                new Person("Alicia", 35)
+        };
+        System.out.println("\nBefore key-extraction sorting: " + Arrays.toString(people));
+
+        sortPeopleByAge(people);
+        System.out.println("Sorted by age (ties keep their order): " + Arrays.toString(people));
+
+        sortPeopleByName(people);
+        System.out.println("Sorted by name: " + Arrays.toString(people));
+
+        sortPeopleByAgeThenName(people);
+        System.out.println("Sorted by age, then name: " + Arrays.toString(people));
+    }
+
     // ----------------------------------------------------------------------------------------
     // MAIN METHOD: Demonstrate All Sorting Examples
     // ----------------------------------------------------------------------------------------
@@ -252,10 +987,43 @@ public class SortingAlgorithms {
         mergeSort(arrayForMerge, 0, arrayForMerge.length - 1);
         System.out.println("Sorted array using Merge Sort: " + Arrays.toString(arrayForMerge));
 
+        // Parallel Merge Sort Example (a tiny cutoff so the ping-pong recursion is visible):
+        int[] arrayForParallelMerge = {38, 27, 43, 3, 9, 82, 10, 56, 1, 70};
+        System.out.println("\nOriginal array for Parallel Merge Sort: " + Arrays.toString(arrayForParallelMerge));
+        parallelMergeSort(arrayForParallelMerge, 2);
+        System.out.println("Sorted array using Parallel Merge Sort: " + Arrays.toString(arrayForParallelMerge));
+
+        // Adaptive Sorting Example: the strategy depends on the order already in the data.
+        int[] fewRuns = new int[200];
+        for (int i = 0; i < fewRuns.length; i++) {
+            fewRuns[i] = i % 50;  // Four ascending runs: 0..49, 0..49, 0..49, 0..49.
+        }
+        int[] descending = new int[200];
+        for (int i = 0; i < descending.length; i++) {
+            descending[i] = descending.length - i;
+        }
+        int[] noisy = new int[10_000];
+        for (int i = 0; i < noisy.length; i++) {
+            noisy[i] = (i * 7919) % 10_007;
+        }
+        System.out.println("\nAdaptive sort of a small array: " + sort(new int[]{3, 1, 2}));
+        System.out.println("Adaptive sort of 4 ascending runs: " + sort(fewRuns));
+        System.out.println("Adaptive sort of a descending array: " + sort(descending));
+        System.out.println("Adaptive sort of unstructured data: " + sort(noisy));
+
+        // Selection Examples: only part of the sorted order is computed.
+        int[] scores = {55, 91, 12, 78, 43, 91, 60, 5, 88, 70};
+        System.out.println("\nTop 3 scores: " + Arrays.toString(topK(scores, 3)));
+        System.out.println("Top 3 scores from a stream: " + Arrays.toString(topK(IntStream.of(scores), 3)));
+        System.out.println("Median score: " + selectKth(scores.clone(), scores.length / 2));
+        partialSort(scores, 4);
+        System.out.println("4 lowest scores moved to the front in order: " + Arrays.toString(scores));
+
         // -------------------------------------------------------------------------------------
         // ADVANCED TOPIC: Custom Object Sorting (Comparable and Comparator)
         // -------------------------------------------------------------------------------------
         customObjectSortingExample();
+        keyExtractionSortingExample();
 
         // -------------------------------------------------------------------------------------
         // ADVANCED NOTES:
@@ -0,0 +1,205 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * SortingNetworks sorts small fixed-size blocks with sorting networks and merges the blocks
+ * with a branch-free merge loop.
+ *
+ * WHAT IS A SORTING NETWORK?
+ * --------------------------
+ * A sorting network is a FIXED sequence of compare-exchange steps: "put the smaller of a[i] and
+ * a[j] at i and the larger at j". Which pairs are compared never depends on the data, so there
+ * are no unpredictable branches. Each compare-exchange is a Math.min and a Math.max, which the
+ * JIT compiles to conditional moves (and, for independent pairs, can pack into SIMD registers).
+ * insertionSort, in contrast, branches on every comparison, and on random data about half of
+ * those branches are mispredicted.
+ *
+ * WHAT IS INCLUDED:
+ * -----------------
+ * - sort8:  the optimal 19-comparator network for 8 elements.
+ * - sort16, sort32: bitonic sorting networks (n/2 * log2(n) * (log2(n) + 1) / 2 comparators).
+ * - sort(int[]): a merge sort whose leaves are 32-element network-sorted blocks, merged bottom-up
+ *   with a branch-free merge kernel and one ping-pong buffer.
+ *
+ * This is plain Java 8 code: the JIT decides how much of it to vectorize, so it runs on every
+ * JVM and needs no incubator modules.
+ */
+public class SortingNetworks {
+
+    /** Size of the blocks that sort(int[]) sorts with a network before merging. */
+    public static final int BLOCK_SIZE = 32;
+
+    /** Puts the smaller of a[i] and a[j] at i and the larger at j, without branching on the data. */
+    private static void compareExchange(int[] a, int i, int j) {
+        int x = a[i];
+        int y = a[j];
+        a[i] = Math.min(x, y);
+        a[j] = Math.max(x, y);
+    }
+
+    /**
+     * Sorts a[offset..offset+8) with the optimal 8-element network (19 comparators, depth 6).
+     *
+     * @param a      The array containing the block.
+     * @param offset The first index of the block.
+     */
+    public static void sort8(int[] a, int offset) {
+        int o = offset;
+        compareExchange(a, o, o + 2);
+        compareExchange(a, o + 1, o + 3);
+        compareExchange(a, o + 4, o + 6);
+        compareExchange(a, o + 5, o + 7);
+
+        compareExchange(a, o, o + 4);
+        compareExchange(a, o + 1, o + 5);
+        compareExchange(a, o + 2, o + 6);
+        compareExchange(a, o + 3, o + 7);
+
+        compareExchange(a, o, o + 1);
+        compareExchange(a, o + 2, o + 3);
+        compareExchange(a, o + 4, o + 5);
+        compareExchange(a, o + 6, o + 7);
+
+        compareExchange(a, o + 2, o + 4);
+        compareExchange(a, o + 3, o + 5);
+
+        compareExchange(a, o + 1, o + 4);
+        compareExchange(a, o + 3, o + 6);
+
+        compareExchange(a, o + 1, o + 2);
+        compareExchange(a, o + 3, o + 4);
+        compareExchange(a, o + 5, o + 6);
+    }
+
+    /**
+     * Sorts a[offset..offset+16) with a bitonic sorting network.
+     *
+     * @param a      The array containing the block.
+     * @param offset The first index of the block.
+     */
+    public static void sort16(int[] a, int offset) {
+        bitonicSort(a, offset, 16);
+    }
+
+    /**
+     * Sorts a[offset..offset+32) with a bitonic sorting network.
+     *
+     * @param a      The array containing the block.
+     * @param offset The first index of the block.
+     */
+    public static void sort32(int[] a, int offset) {
+        bitonicSort(a, offset, 32);
+    }
+
+    /**
+     * Bitonic sort of a[offset..offset+n) for n a power of two.
+     * Stage k builds sorted runs of length k, alternating ascending and descending, so that two
+     * neighbouring runs form a "bitonic" sequence that the j-steps then merge. The loop bounds
+     * and the pairs compared depend only on n, never on the values.
+     */
+    private static void bitonicSort(int[] a, int offset, int n) {
+        for (int k = 2; k <= n; k <<= 1) {
+            for (int j = k >>> 1; j > 0; j >>>= 1) {
+                for (int i = 0; i < n; i++) {
+                    int partner = i ^ j;
+                    if (partner > i) {
+                        if ((i & k) == 0) {
+                            compareExchange(a, offset + i, offset + partner);
+                        } else {
+                            compareExchange(a, offset + partner, offset + i);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Sorts the whole array: 32-element blocks are sorted with the bitonic network (a shorter
+     * tail with insertion sort), and the blocks are then merged bottom-up.
+     *
+     * @param arr The array of integers to be sorted.
+     */
+    public static void sort(int[] arr) {
+        int n = arr.length;
+        int fullBlocksEnd = n - n % BLOCK_SIZE;
+        for (int start = 0; start < fullBlocksEnd; start += BLOCK_SIZE) {
+            sort32(arr, start);
+        }
+        SortingAlgorithms.insertionSort(arr, fullBlocksEnd, n - 1);
+        if (n <= BLOCK_SIZE) {
+            return;
+        }
+
+        // Bottom-up merging: runs of width BLOCK_SIZE, 2*BLOCK_SIZE, ... ping-pong between arr and buffer.
+        int[] src = arr;
+        int[] dst = new int[n];
+        for (int width = BLOCK_SIZE; width < n; width <<= 1) {
+            for (int left = 0; left < n; left += 2 * width) {
+                int mid = Math.min(left + width, n) - 1;
+                int right = Math.min(left + 2 * width, n) - 1;
+                if (mid < right) {
+                    mergeBranchFree(src, dst, left, mid, right);
+                } else {
+                    System.arraycopy(src, left, dst, left, right - left + 1);
+                }
+            }
+            int[] tmp = src;
+            src = dst;
+            dst = tmp;
+        }
+        if (src != arr) {
+            System.arraycopy(src, 0, arr, 0, n);
+        }
+    }
+
+    /**
+     * Merges src[left..mid] and src[mid+1..right] into dst[left..right].
+     * The loop body has no data-dependent branch: the comparison result only selects which
+     * value is written and which index moves, which the JIT turns into conditional moves.
+     */
+    static void mergeBranchFree(int[] src, int[] dst, int left, int mid, int right) {
+        int i = left, j = mid + 1, k = left;
+        while (i <= mid && j <= right) {
+            int x = src[i];
+            int y = src[j];
+            int takeLeft = x <= y ? 1 : 0;
+            dst[k++] = takeLeft == 1 ? x : y;
+            i += takeLeft;
+            j += 1 - takeLeft;
+        }
+        if (i <= mid) {
+            System.arraycopy(src, i, dst, k, mid - i + 1);
+        } else if (j <= right) {
+            System.arraycopy(src, j, dst, k, right - j + 1);
+        }
+    }
+
+    public static void main(String[] args) {
+        // -------------------------------------------------------------------------------------
+        // EXAMPLE 1: Sorting One Block With a Network
+        // -------------------------------------------------------------------------------------
+        int[] block = {42, 7, 19, 3, 88, 23, 5, 61};
+        sort8(block, 0);
+        System.out.println("8 elements sorted by the network: " + Arrays.toString(block));
+
+        // -------------------------------------------------------------------------------------
+        // EXAMPLE 2: Sorting a Larger Array Block by Block
+        // -------------------------------------------------------------------------------------
+        int[] numbers = new int[100];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = (i * 37) % 101;
+        }
+        sort(numbers);
+        System.out.println("First 10 of 100 sorted numbers: " + Arrays.toString(Arrays.copyOf(numbers, 10)));
+
+        // -------------------------------------------------------------------------------------
+        // ADVANCED NOTES:
+        // -------------------------------------------------------------------------------------
+        // - A sorting network does more comparisons than insertion sort on nearly sorted data,
+        //   but none of them can be mispredicted, which wins on random data.
+        // - The 0-1 principle: a network sorts every input if it sorts every input made of
+        //   0s and 1s, so an 8-element network can be fully verified with 2^8 = 256 inputs.
+    }
+}
@@ -0,0 +1,211 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * BenchmarkRunner is a small, dependency-free benchmark harness modelled on JMH.
+ *
+ * HOW A MEASUREMENT WORKS:
+ * ------------------------
+ * 1. WARMUP: the operation runs for a few iterations first, so the JIT compiler has
+ *    optimized it before anything is recorded.
+ * 2. MEASUREMENT: each iteration calls the operation repeatedly until the iteration time has
+ *    passed (and at least once). Throughput = operations / seconds of that iteration.
+ * 3. The score is the mean over the measurement iterations, with a 99.9% confidence error
+ *    like the one JMH prints.
+ * 4. ALLOCATION: the bytes allocated by all live threads (including fork/join workers) are read
+ *    from the HotSpot ThreadMXBean before and after the measurement, giving the allocation rate
+ *    in MB/s and the bytes allocated per operation (what "-prof gc" reports in JMH).
+ *
+ * Results are written as a JSON array in the same shape as JMH's "-rf json" output, so files
+ * from different commits can be compared with the usual JMH tooling.
+ */
+public class BenchmarkRunner {
+
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationNanos;
+    private final List<Result> results = new ArrayList<>();
+
+    /** Sink for values returned by benchmarked code, so the JIT cannot remove the computation. */
+    public static volatile long blackhole;
+
+    /**
+     * Creates a runner.
+     *
+     * @param warmupIterations      Iterations run before measuring.
+     * @param measurementIterations Iterations that are recorded.
+     * @param iterationMillis       Minimum duration of one iteration.
+     */
+    public BenchmarkRunner(int warmupIterations, int measurementIterations, long iterationMillis) {
+        if (measurementIterations < 1) {
+            throw new IllegalArgumentException("measurementIterations must be at least 1: " + measurementIterations);
+        }
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationNanos = iterationMillis * 1_000_000L;
+    }
+
+    /** The result of one benchmark with one set of parameters. */
+    public static final class Result {
+        final String benchmark;
+        final Map<String, String> params;
+        final double score;
+        final double scoreError;
+        final double allocRateMbPerSec;
+        final double allocBytesPerOp;
+
+        Result(String benchmark, Map<String, String> params, double score, double scoreError,
+               double allocRateMbPerSec, double allocBytesPerOp) {
+            this.benchmark = benchmark;
+            this.params = params;
+            this.score = score;
+            this.scoreError = scoreError;
+            this.allocRateMbPerSec = allocRateMbPerSec;
+            this.allocBytesPerOp = allocBytesPerOp;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-40s %-40s %14.3f +- %10.3f ops/s %12.1f MB/s %14.1f B/op",
+                    benchmark, params, score, scoreError, allocRateMbPerSec, allocBytesPerOp);
+        }
+    }
+
+    /**
+     * Measures the throughput and allocation of one operation, prints the result and keeps it for writeJson().
+     *
+     * @param benchmark The benchmark name, for example "SortingBenchmark.mergeSort".
+     * @param params    The parameters of this run, for example size and distribution.
+     * @param operation The code to measure; one call is one operation.
+     * @return The measured result.
+     */
+    public Result run(String benchmark, Map<String, String> params, Runnable operation) {
+        for (int i = 0; i < warmupIterations; i++) {
+            runIteration(operation);
+        }
+        double[] throughput = new double[measurementIterations];
+        long totalOps = 0;
+        long totalNanos = 0;
+        long allocatedBefore = allocatedBytes();
+        for (int i = 0; i < measurementIterations; i++) {
+            long start = System.nanoTime();
+            long ops = runIteration(operation);
+            long elapsed = System.nanoTime() - start;
+            throughput[i] = ops * 1e9 / elapsed;
+            totalOps += ops;
+            totalNanos += elapsed;
+        }
+        long allocated = allocatedBytes() - allocatedBefore;
+
+        double mean = 0;
+        for (double value : throughput) {
+            mean += value;
+        }
+        mean /= measurementIterations;
+        double variance = 0;
+        for (double value : throughput) {
+            variance += (value - mean) * (value - mean);
+        }
+        // 3.29 standard errors is roughly a 99.9% confidence interval (JMH uses Student's t).
+        double error = measurementIterations > 1
+                ? 3.29 * Math.sqrt(variance / (measurementIterations - 1)) / Math.sqrt(measurementIterations)
+                : Double.NaN;
+        double allocRate = allocated < 0 ? Double.NaN : allocated / (totalNanos / 1e9) / (1024 * 1024);
+        double allocPerOp = allocated < 0 ? Double.NaN : (double) allocated / totalOps;
+
+        Result result = new Result(benchmark, new LinkedHashMap<>(params), mean, error, allocRate, allocPerOp);
+        results.add(result);
+        System.out.println(result);
+        return result;
+    }
+
+    /** Runs the operation until the iteration time has passed and returns how often it ran. */
+    private long runIteration(Runnable operation) {
+        long deadline = System.nanoTime() + iterationNanos;
+        long ops = 0;
+        do {
+            operation.run();
+            ops++;
+        } while (System.nanoTime() < deadline);
+        return ops;
+    }
+
+    /** Total bytes allocated so far by all live threads, or -1 if the JVM cannot tell. */
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) bean;
+        if (!hotspot.isThreadAllocatedMemorySupported() || !hotspot.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        long total = 0;
+        for (long bytes : hotspot.getThreadAllocatedBytes(hotspot.getAllThreadIds())) {
+            if (bytes > 0) {
+                total += bytes;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Writes all results collected so far as a JMH-style JSON array.
+     *
+     * @param file The file to (over)write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void writeJson(Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("[\n");
+            for (int i = 0; i < results.size(); i++) {
+                Result r = results.get(i);
+                out.write("  {\n");
+                out.write("    \"benchmark\" : " + quote(r.benchmark) + ",\n");
+                out.write("    \"mode\" : \"thrpt\",\n");
+                out.write("    \"jvm\" : " + quote(System.getProperty("java.home")) + ",\n");
+                out.write("    \"vmVersion\" : " + quote(System.getProperty("java.vm.version")) + ",\n");
+                out.write("    \"warmupIterations\" : " + warmupIterations + ",\n");
+                out.write("    \"measurementIterations\" : " + measurementIterations + ",\n");
+                out.write("    \"measurementTime\" : \"" + iterationNanos / 1_000_000 + " ms\",\n");
+                out.write("    \"params\" : {");
+                int p = 0;
+                for (Map.Entry<String, String> entry : r.params.entrySet()) {
+                    out.write((p++ == 0 ? " " : ", ") + quote(entry.getKey()) + " : " + quote(entry.getValue()));
+                }
+                out.write(" },\n");
+                out.write("    \"primaryMetric\" : { \"score\" : " + number(r.score)
+                        + ", \"scoreError\" : " + number(r.scoreError) + ", \"scoreUnit\" : \"ops/s\" },\n");
+                out.write("    \"secondaryMetrics\" : {\n");
+                out.write("      \"gc.alloc.rate\" : { \"score\" : " + number(r.allocRateMbPerSec)
+                        + ", \"scoreUnit\" : \"MB/sec\" },\n");
+                out.write("      \"gc.alloc.rate.norm\" : { \"score\" : " + number(r.allocBytesPerOp)
+                        + ", \"scoreUnit\" : \"B/op\" }\n");
+                out.write("    }\n");
+                out.write(i + 1 < results.size() ? "  },\n" : "  }\n");
+            }
+            out.write("]\n");
+        }
+    }
+
+    private static String quote(String s) {
+        return "\"" + s.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private static String number(double value) {
+        // JSON has no NaN; JMH writes "NaN" as a string in that case.
+        return Double.isNaN(value) || Double.isInfinite(value) ? "\"NaN\"" : String.format(Locale.ROOT, "%.6f", value);
+    }
+}
@@ -0,0 +1,258 @@
+package benchmarks;
+
+import datastructures.ConcurrentSortedLinkedList;
+import datastructures.SkipListSortedIntList;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * ConcurrentListBenchmark measures the throughput of concurrent sorted int sets from 1 to N
+ * threads: the lock-free ConcurrentSortedLinkedList, the same kind of list behind one lock, the
+ * concurrent mode of SkipListSortedIntList, and java.util.concurrent.ConcurrentSkipListSet as a reference.
+ *
+ * USAGE:
+ * ------
+ *   java -cp out benchmarks.ConcurrentListBenchmark [options]
+ *
+ *   --threads 1,2,4,8             thread counts (default: powers of two up to the number of cores)
+ *   --size 1000                   number of values in the set while it is measured
+ *   --update-percent 20           percentage of operations that insert or delete (the rest are contains)
+ *   --algorithms lockFreeList,... benchmarks to run (default: all)
+ *   --warmup 3                    warmup iterations
+ *   --iterations 5                measurement iterations
+ *   --time-ms 1000                minimum time per iteration
+ *   --out results.json            JMH-style JSON result file (default: concurrent-list-benchmark.json)
+ *
+ * One operation lets every thread run OPERATIONS_PER_THREAD random set operations on keys in
+ * [0, 2 * size); inserts and deletes are equally likely, so the set keeps about 'size' values.
+ * The reported ops/s multiplied by threads * OPERATIONS_PER_THREAD gives set operations per second.
+ */
+public class ConcurrentListBenchmark {
+
+    /** Set operations per thread in one measured operation. */
+    public static final int OPERATIONS_PER_THREAD = 1 << 12;
+
+    /** The operations every benchmarked set supports. */
+    private interface IntSet {
+        boolean insert(int value);
+
+        boolean delete(int value);
+
+        boolean contains(int value);
+    }
+
+    /** The "wrap it in a lock" baseline: a plain sorted linked list with synchronized methods. */
+    private static final class LockedSortedList implements IntSet {
+        private static final class Node {
+            final int value;
+            Node next;
+
+            Node(int value, Node next) {
+                this.value = value;
+                this.next = next;
+            }
+        }
+
+        private final Node head = new Node(0, null);  // Sentinel.
+
+        @Override
+        public synchronized boolean insert(int value) {
+            Node pred = head;
+            while (pred.next != null && pred.next.value < value) {
+                pred = pred.next;
+            }
+            if (pred.next != null && pred.next.value == value) {
+                return false;
+            }
+            pred.next = new Node(value, pred.next);
+            return true;
+        }
+
+        @Override
+        public synchronized boolean delete(int value) {
+            Node pred = head;
+            while (pred.next != null && pred.next.value < value) {
+                pred = pred.next;
+            }
+            if (pred.next == null || pred.next.value != value) {
+                return false;
+            }
+            pred.next = pred.next.next;
+            return true;
+        }
+
+        @Override
+        public synchronized boolean contains(int value) {
+            Node curr = head.next;
+            while (curr != null && curr.value < value) {
+                curr = curr.next;
+            }
+            return curr != null && curr.value == value;
+        }
+    }
+
+    private static final class Candidate {
+        final String name;
+        final Supplier<IntSet> create;
+
+        Candidate(String name, Supplier<IntSet> create) {
+            this.name = name;
+            this.create = create;
+        }
+    }
+
+    private static List<Candidate> candidates() {
+        List<Candidate> list = new ArrayList<>();
+        list.add(new Candidate("lockedList", LockedSortedList::new));
+        list.add(new Candidate("lockFreeList", () -> {
+            ConcurrentSortedLinkedList set = new ConcurrentSortedLinkedList();
+            return new IntSet() {
+                @Override
+                public boolean insert(int value) {
+                    return set.insert(value);
+                }
+
+                @Override
+                public boolean delete(int value) {
+                    return set.delete(value);
+                }
+
+                @Override
+                public boolean contains(int value) {
+                    return set.contains(value);
+                }
+            };
+        }));
+        list.add(new Candidate("lockFreeSkipList", () -> {
+            SkipListSortedIntList set = new SkipListSortedIntList(true);
+            return new IntSet() {
+                @Override
+                public boolean insert(int value) {
+                    return set.insert(value);
+                }
+
+                @Override
+                public boolean delete(int value) {
+                    return set.delete(value);
+                }
+
+                @Override
+                public boolean contains(int value) {
+                    return set.contains(value);
+                }
+            };
+        }));
+        list.add(new Candidate("concurrentSkipListSet", () -> {
+            ConcurrentSkipListSet<Integer> set = new ConcurrentSkipListSet<>();
+            return new IntSet() {
+                @Override
+                public boolean insert(int value) {
+                    return set.add(value);
+                }
+
+                @Override
+                public boolean delete(int value) {
+                    return set.remove(value);
+                }
+
+                @Override
+                public boolean contains(int value) {
+                    return set.contains(value);
+                }
+            };
+        }));
+        return list;
+    }
+
+    /** One thread's share of an operation: random inserts, deletes and lookups. */
+    private static long work(IntSet set, int keyRange, int updatePercent) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long found = 0;
+        for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+            int key = random.nextInt(keyRange);
+            int dice = random.nextInt(200);
+            if (dice < updatePercent) {
+                found += set.insert(key) ? 1 : 0;
+            } else if (dice < 2 * updatePercent) {
+                found += set.delete(key) ? 1 : 0;
+            } else {
+                found += set.contains(key) ? 1 : 0;
+            }
+        }
+        return found;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = SortingBenchmark.parseOptions(args);
+        int cores = Runtime.getRuntime().availableProcessors();
+        StringBuilder defaultThreads = new StringBuilder("1");
+        for (int t = 2; t <= cores; t *= 2) {
+            defaultThreads.append(',').append(t);
+        }
+        int[] threadCounts = Arrays.stream(options.getOrDefault("threads", defaultThreads.toString()).split(","))
+                .mapToInt(s -> Integer.parseInt(s.trim())).toArray();
+        int size = Integer.parseInt(options.getOrDefault("size", "1000"));
+        int updatePercent = Integer.parseInt(options.getOrDefault("update-percent", "20"));
+        List<String> selected = options.containsKey("algorithms")
+                ? Arrays.asList(options.get("algorithms").split(","))
+                : null;
+
+        BenchmarkRunner runner = new BenchmarkRunner(
+                Integer.parseInt(options.getOrDefault("warmup", "3")),
+                Integer.parseInt(options.getOrDefault("iterations", "5")),
+                Long.parseLong(options.getOrDefault("time-ms", "1000")));
+
+        int keyRange = 2 * size;
+        for (int threads : threadCounts) {
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            try {
+                for (Candidate candidate : candidates()) {
+                    if (selected != null && !selected.contains(candidate.name)) {
+                        continue;
+                    }
+                    // Prefill with every other key, so the set starts at its steady-state size.
+                    IntSet set = candidate.create.get();
+                    for (int key = 0; key < keyRange; key += 2) {
+                        set.insert(key);
+                    }
+                    List<Callable<Long>> tasks = new ArrayList<>();
+                    for (int t = 0; t < threads; t++) {
+                        tasks.add(() -> work(set, keyRange, updatePercent));
+                    }
+                    Map<String, String> params = new LinkedHashMap<>();
+                    params.put("threads", Integer.toString(threads));
+                    params.put("size", Integer.toString(size));
+                    params.put("updatePercent", Integer.toString(updatePercent));
+                    runner.run("ConcurrentListBenchmark." + candidate.name, params, () -> {
+                        try {
+                            long found = 0;
+                            for (Future<Long> result : pool.invokeAll(tasks)) {
+                                found += result.get();
+                            }
+                            BenchmarkRunner.blackhole = found;
+                        } catch (InterruptedException | ExecutionException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    });
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+        runner.writeJson(Paths.get(options.getOrDefault("out", "concurrent-list-benchmark.json")));
+    }
+}
@@ -0,0 +1,108 @@
+package benchmarks;
+
+import java.util.Random;
+
+/**
+ * Input shapes used by the benchmarks. Sorting and searching algorithms can behave very
+ * differently on random data than on data that already has some order, so every benchmark
+ * is run over several of these shapes.
+ */
+public enum Distribution {
+
+    /** Uniformly random ints over the whole int range. */
+    RANDOM {
+        @Override
+        void fill(int[] arr, Random random) {
+            for (int i = 0; i < arr.length; i++) {
+                arr[i] = random.nextInt();
+            }
+        }
+    },
+
+    /** Already sorted ascending (the best case for adaptive sorts). */
+    SORTED {
+        @Override
+        void fill(int[] arr, Random random) {
+            for (int i = 0; i < arr.length; i++) {
+                arr[i] = i;
+            }
+        }
+    },
+
+    /** Sorted descending (the worst case for insertion sort). */
+    REVERSED {
+        @Override
+        void fill(int[] arr, Random random) {
+            for (int i = 0; i < arr.length; i++) {
+                arr[i] = arr.length - i;
+            }
+        }
+    },
+
+    /** Only 8 distinct values, so there are many duplicates. */
+    FEW_UNIQUE {
+        @Override
+        void fill(int[] arr, Random random) {
+            for (int i = 0; i < arr.length; i++) {
+                arr[i] = random.nextInt(8);
+            }
+        }
+    },
+
+    /** 16 ascending "teeth": a few long sorted runs placed one after the other. */
+    SAWTOOTH {
+        @Override
+        void fill(int[] arr, Random random) {
+            int period = Math.max(1, arr.length / 16);
+            for (int i = 0; i < arr.length; i++) {
+                arr[i] = i % period;
+            }
+        }
+    },
+
+    /** Zipf-distributed values (exponent 1): a few values are very common, most are rare. */
+    ZIPF {
+        @Override
+        void fill(int[] arr, Random random) {
+            // Cumulative probabilities of the ranks 1..m, proportional to 1/rank.
+            int m = Math.max(1, Math.min(arr.length, 1 << 16));
+            double[] cumulative = new double[m];
+            double sum = 0;
+            for (int rank = 1; rank <= m; rank++) {
+                sum += 1.0 / rank;
+                cumulative[rank - 1] = sum;
+            }
+            for (int i = 0; i < arr.length; i++) {
+                // Inverse transform sampling: find the first rank whose cumulative weight exceeds u.
+                double u = random.nextDouble() * sum;
+                int lo = 0, hi = m - 1;
+                while (lo < hi) {
+                    int mid = (lo + hi) >>> 1;
+                    if (cumulative[mid] < u) {
+                        lo = mid + 1;
+                    } else {
+                        hi = mid;
+                    }
+                }
+                arr[i] = lo;
+            }
+        }
+    };
+
+    /** Fills the array with values of this shape, drawing randomness from 'random'. */
+    abstract void fill(int[] arr, Random random);
+
+    /**
+     * Creates an array of this shape. The same size and seed always give the same array,
+     * so results of different runs (and commits) are comparable.
+     *
+     * @param size The number of elements.
+     * @param seed The random seed.
+     * @return A new array of the given size.
+     */
+    public int[] generate(int size, long seed) {
+        int[] arr = new int[size];
+        fill(arr, new Random(seed));
+        return arr;
+    }
+}
@@ -0,0 +1,141 @@
+package benchmarks;
+
+import algorithms.BatchedSearch;
+import algorithms.CompressedSortedIntArray;
+import algorithms.DetailedBinarySearchExample;
+import algorithms.EytzingerIndex;
+import algorithms.LearnedIndex;
+import algorithms.StaticBTree;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * SearchBenchmark compares the search structures over one sorted array against
+ * DetailedBinarySearchExample.binarySearch and Arrays.binarySearch.
+ *
+ * USAGE:
+ * ------
+ *   java -Xmx8g -cp out benchmarks.SearchBenchmark [options]
+ *
+ *   --sizes 1000,1000000          array sizes (default: every power of 10 from 10^3 to 10^8)
+ *   --algorithms eytzinger,...    benchmarks to run (default: all)
+ *   --warmup 3                    warmup iterations
+ *   --iterations 5                measurement iterations
+ *   --time-ms 1000                minimum time per iteration
+ *   --out results.json            JMH-style JSON result file (default: search-benchmark.json)
+ *
+ * The array holds the even numbers 0, 2, 4, ..., so a random query in [0, 2n) is found about half
+ * of the time. One operation is a batch of QUERY_COUNT lookups with pre-generated random keys,
+ * so the reported ops/s multiplied by QUERY_COUNT gives lookups per second.
+ */
+public class SearchBenchmark {
+
+    /** Number of lookups per measured operation. */
+    public static final int QUERY_COUNT = 1 << 12;
+
+    /** Runs one batch of lookups and returns a checksum of the results. */
+    private interface BatchSearch {
+        long run(int[] queries);
+    }
+
+    /** A benchmarked search: its name and a factory that builds it for one sorted array. */
+    private static final class Candidate {
+        final String name;
+        final boolean sortedQueries;
+        final Function<int[], BatchSearch> build;
+
+        Candidate(String name, boolean sortedQueries, Function<int[], BatchSearch> build) {
+            this.name = name;
+            this.sortedQueries = sortedQueries;
+            this.build = build;
+        }
+    }
+
+    /** Wraps a single-key search into a batch that looks up every query one after another. */
+    private static BatchSearch oneByOne(IntUnaryOperator search) {
+        return queries -> {
+            long sum = 0;
+            for (int query : queries) {
+                sum += search.applyAsInt(query);
+            }
+            return sum;
+        };
+    }
+
+    /** Runs a batch search that returns one result per query. */
+    private static BatchSearch batched(Function<int[], int[]> search) {
+        return queries -> {
+            long sum = 0;
+            for (int result : search.apply(queries)) {
+                sum += result;
+            }
+            return sum;
+        };
+    }
+
+    private static List<Candidate> candidates() {
+        List<Candidate> list = new ArrayList<>();
+        list.add(new Candidate("binarySearch", false,
+                sorted -> oneByOne(key -> DetailedBinarySearchExample.binarySearch(sorted, key))));
+        list.add(new Candidate("arraysBinarySearch", false, sorted -> oneByOne(key -> Arrays.binarySearch(sorted, key))));
+        list.add(new Candidate("eytzinger", false, sorted -> oneByOne(new EytzingerIndex(sorted)::indexOf)));
+        list.add(new Candidate("staticBTree", false, sorted -> oneByOne(new StaticBTree(sorted)::indexOf)));
+        list.add(new Candidate("learnedIndex", false, sorted -> oneByOne(new LearnedIndex(sorted)::indexOf)));
+        list.add(new Candidate("compressed", false, sorted -> oneByOne(new CompressedSortedIntArray(sorted)::indexOf)));
+        list.add(new Candidate("searchAll", false, sorted -> batched(queries -> BatchedSearch.searchAll(sorted, queries))));
+        list.add(new Candidate("searchAllSortedQueries", true,
+                sorted -> batched(queries -> BatchedSearch.searchAll(sorted, queries))));
+        return list;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = SortingBenchmark.parseOptions(args);
+        int[] sizes = Arrays.stream(options.getOrDefault("sizes",
+                "1000,10000,100000,1000000,10000000,100000000").split(","))
+                .mapToInt(s -> Integer.parseInt(s.trim())).toArray();
+        List<String> selected = options.containsKey("algorithms")
+                ? Arrays.asList(options.get("algorithms").split(","))
+                : null;
+
+        BenchmarkRunner runner = new BenchmarkRunner(
+                Integer.parseInt(options.getOrDefault("warmup", "3")),
+                Integer.parseInt(options.getOrDefault("iterations", "5")),
+                Long.parseLong(options.getOrDefault("time-ms", "1000")));
+
+        for (int size : sizes) {
+            int[] sorted = new int[size];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = 2 * i;
+            }
+            int[] queries = new int[QUERY_COUNT];
+            Random random = new Random(42);
+            for (int i = 0; i < QUERY_COUNT; i++) {
+                queries[i] = random.nextInt(2 * size);
+            }
+            int[] sortedQueries = queries.clone();
+            Arrays.sort(sortedQueries);
+            for (Candidate candidate : candidates()) {
+                if (selected != null && !selected.contains(candidate.name)) {
+                    continue;
+                }
+                BatchSearch search = candidate.build.apply(sorted);
+                int[] batch = candidate.sortedQueries ? sortedQueries : queries;
+                Map<String, String> params = new LinkedHashMap<>();
+                params.put("size", Integer.toString(size));
+                params.put("queries", Integer.toString(QUERY_COUNT));
+                runner.run("SearchBenchmark." + candidate.name, params,
+                        () -> BenchmarkRunner.blackhole = search.run(batch));
+            }
+        }
+        runner.writeJson(Paths.get(options.getOrDefault("out", "search-benchmark.json")));
+    }
+}
@@ -0,0 +1,130 @@
+package benchmarks;
+
+import algorithms.RadixSort;
+import algorithms.SortingAlgorithms;
+import algorithms.SortingNetworks;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * SortingBenchmark measures every sort in SortingAlgorithms (and RadixSort, SortingNetworks) against
+ * Arrays.sort and Arrays.parallelSort, over a grid of input sizes and distributions.
+ *
+ * USAGE:
+ * ------
+ *   java -Xmx4g -cp out benchmarks.SortingBenchmark [options]
+ *
+ *   --sizes 10,1000,1000000       input sizes (default: every power of 10 from 10 to 10^8)
+ *   --distributions RANDOM,ZIPF   input shapes, see Distribution (default: all)
+ *   --algorithms mergeSort,...    benchmarks to run (default: all)
+ *   --warmup 3                    warmup iterations
+ *   --iterations 5                measurement iterations
+ *   --time-ms 1000                minimum time per iteration
+ *   --out results.json            JMH-style JSON result file (default: sorting-benchmark.json)
+ *
+ * Each operation copies the prepared input into a reusable work array and sorts it. The copy
+ * allocates nothing and is also measured on its own as "copyBaseline", so its cost can be
+ * subtracted. The O(n^2) sorts are skipped for sizes where a single call would take minutes.
+ */
+public class SortingBenchmark {
+
+    /** A benchmarked sort: its name, the largest size worth running, and the code itself. */
+    private static final class Candidate {
+        final String name;
+        final int maxSize;
+        final Consumer<int[]> sort;
+
+        Candidate(String name, int maxSize, Consumer<int[]> sort) {
+            this.name = name;
+            this.maxSize = maxSize;
+            this.sort = sort;
+        }
+    }
+
+    private static List<Candidate> candidates() {
+        List<Candidate> list = new ArrayList<>();
+        list.add(new Candidate("copyBaseline", Integer.MAX_VALUE, arr -> { }));
+        list.add(new Candidate("bubbleSort", 10_000, SortingAlgorithms::bubbleSort));
+        list.add(new Candidate("insertionSort", 100_000, SortingAlgorithms::insertionSort));
+        list.add(new Candidate("mergeSort", Integer.MAX_VALUE, arr -> SortingAlgorithms.mergeSort(arr, 0, arr.length - 1)));
+        list.add(new Candidate("parallelMergeSort", Integer.MAX_VALUE, SortingAlgorithms::parallelMergeSort));
+        list.add(new Candidate("networkMergeSort", Integer.MAX_VALUE, SortingNetworks::sort));
+        list.add(new Candidate("adaptiveSort", Integer.MAX_VALUE, SortingAlgorithms::sort));
+        list.add(new Candidate("radixSort", Integer.MAX_VALUE, RadixSort::sort));
+        list.add(new Candidate("parallelRadixSort", Integer.MAX_VALUE, arr -> RadixSort.sort(arr, true)));
+        list.add(new Candidate("selectMedian", Integer.MAX_VALUE,
+                arr -> BenchmarkRunner.blackhole = SortingAlgorithms.selectKth(arr, arr.length / 2)));
+        list.add(new Candidate("partialSortTop100", Integer.MAX_VALUE, arr -> SortingAlgorithms.partialSort(arr, 100)));
+        list.add(new Candidate("topK100", Integer.MAX_VALUE,
+                arr -> BenchmarkRunner.blackhole = SortingAlgorithms.topK(arr, 100).length));
+        list.add(new Candidate("arraysSort", Integer.MAX_VALUE, Arrays::sort));
+        list.add(new Candidate("arraysParallelSort", Integer.MAX_VALUE, Arrays::parallelSort));
+        return list;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parseOptions(args);
+        int[] sizes = Arrays.stream(options.getOrDefault("sizes",
+                "10,100,1000,10000,100000,1000000,10000000,100000000").split(","))
+                .mapToInt(s -> Integer.parseInt(s.trim())).toArray();
+        List<Distribution> distributions = new ArrayList<>();
+        for (String name : options.getOrDefault("distributions", joinNames(Distribution.values())).split(",")) {
+            distributions.add(Distribution.valueOf(name.trim()));
+        }
+        List<String> selected = options.containsKey("algorithms")
+                ? Arrays.asList(options.get("algorithms").split(","))
+                : null;
+
+        BenchmarkRunner runner = new BenchmarkRunner(
+                Integer.parseInt(options.getOrDefault("warmup", "3")),
+                Integer.parseInt(options.getOrDefault("iterations", "5")),
+                Long.parseLong(options.getOrDefault("time-ms", "1000")));
+
+        for (int size : sizes) {
+            for (Distribution distribution : distributions) {
+                int[] input = distribution.generate(size, 42);
+                int[] work = new int[size];
+                for (Candidate candidate : candidates()) {
+                    if (size > candidate.maxSize || (selected != null && !selected.contains(candidate.name))) {
+                        continue;
+                    }
+                    Map<String, String> params = new LinkedHashMap<>();
+                    params.put("size", Integer.toString(size));
+                    params.put("distribution", distribution.name());
+                    runner.run("SortingBenchmark." + candidate.name, params, () -> {
+                        System.arraycopy(input, 0, work, 0, size);
+                        candidate.sort.accept(work);
+                    });
+                }
+            }
+        }
+        runner.writeJson(Paths.get(options.getOrDefault("out", "sorting-benchmark.json")));
+    }
+
+    /** Parses "--name value" pairs into a map. */
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IllegalArgumentException("Expected '--name value' but got: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+
+    private static String joinNames(Enum<?>[] values) {
+        StringBuilder names = new StringBuilder();
+        for (Enum<?> value : values) {
+            names.append(names.length() == 0 ? "" : ",").append(value.name());
+        }
+        return names.toString();
+    }
+}
@@ -0,0 +1,368 @@
+package datastructures;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * ArenaBinaryTree is a binary tree whose nodes live in a NodeArena (off-heap) instead of being
+ * TreeNode objects. It offers the traversals of IDetailedBinaryTreeExample, plus binary search tree
+ * operations (insert, contains, delete) for building and shrinking large trees.
+ *
+ * HOW THE NODES ARE STORED:
+ * -------------------------
+ * A node is an int slot number with three int fields: VALUE, LEFT and RIGHT. LEFT and RIGHT hold
+ * slot numbers, and NodeArena.NULL (0) plays the role of null. Nodes can be linked by hand
+ * (newNode, setLeft, setRight), like the TreeNodes in IDetailedBinaryTreeExample, or by insert().
+ *
+ * The traversals use an int[] stack or queue instead of recursion, so a degenerate tree of any
+ * depth cannot overflow the call stack.
+ */
+public class ArenaBinaryTree {
+
+    private static final int VALUE = 0;  // Field index of the node's value.
+    private static final int LEFT = 1;   // Field index of the left child's slot number.
+    private static final int RIGHT = 2;  // Field index of the right child's slot number.
+
+    private final NodeArena arena = new NodeArena(3);
+    private int root = NodeArena.NULL;
+
+    // -------------------------------
+    // 1. Building the Tree by Hand
+    // -------------------------------
+
+    /** Allocates a node without children. It is not part of the tree until it is linked in. */
+    public int newNode(int value) {
+        int node = arena.allocate();
+        arena.set(node, VALUE, value);
+        return node;
+    }
+
+    public int root() {
+        return root;
+    }
+
+    public void setRoot(int node) {
+        root = node;
+    }
+
+    public int value(int node) {
+        return arena.get(node, VALUE);
+    }
+
+    public int left(int node) {
+        return arena.get(node, LEFT);
+    }
+
+    public int right(int node) {
+        return arena.get(node, RIGHT);
+    }
+
+    public void setLeft(int node, int child) {
+        arena.set(node, LEFT, child);
+    }
+
+    public void setRight(int node, int child) {
+        arena.set(node, RIGHT, child);
+    }
+
+    /** @return The number of live nodes (linked into the tree or not). */
+    public int size() {
+        return arena.liveNodes();
+    }
+
+    /** @return The arena that holds this tree's nodes. */
+    public NodeArena arena() {
+        return arena;
+    }
+
+    // -------------------------------
+    // 2. Binary Search Tree Operations
+    // -------------------------------
+
+    /**
+     * Inserts a value, treating the tree as a binary search tree (smaller values to the left).
+     *
+     * @return True if it was inserted, false if it was already present.
+     */
+    public boolean insert(int value) {
+        if (root == NodeArena.NULL) {
+            root = newNode(value);
+            return true;
+        }
+        int current = root;
+        while (true) {
+            int v = value(current);
+            if (value == v) {
+                return false;
+            }
+            int side = value < v ? LEFT : RIGHT;
+            int child = arena.get(current, side);
+            if (child == NodeArena.NULL) {
+                arena.set(current, side, newNode(value));
+                return true;
+            }
+            current = child;
+        }
+    }
+
+    /** @return True if the binary search tree contains the value. */
+    public boolean contains(int value) {
+        int current = root;
+        while (current != NodeArena.NULL) {
+            int v = value(current);
+            if (value == v) {
+                return true;
+            }
+            current = value < v ? left(current) : right(current);
+        }
+        return false;
+    }
+
+    /**
+     * Deletes a value from the binary search tree. The removed node's slot goes back to the
+     * arena's free list.
+     *
+     * @return True if it was deleted, false if it was not present.
+     */
+    public boolean delete(int value) {
+        int parent = NodeArena.NULL;
+        int current = root;
+        while (current != NodeArena.NULL && value(current) != value) {
+            parent = current;
+            current = value < value(current) ? left(current) : right(current);
+        }
+        if (current == NodeArena.NULL) {
+            return false;
+        }
+        if (left(current) != NodeArena.NULL && right(current) != NodeArena.NULL) {
+            // Two children: copy the in-order successor's value here, then remove the successor,
+            // which has no left child.
+            int successorParent = current;
+            int successor = right(current);
+            while (left(successor) != NodeArena.NULL) {
+                successorParent = successor;
+                successor = left(successor);
+            }
+            arena.set(current, VALUE, value(successor));
+            parent = successorParent;
+            current = successor;
+        }
+        // Now current has at most one child: put that child in its place.
+        int child = left(current) != NodeArena.NULL ? left(current) : right(current);
+        if (parent == NodeArena.NULL) {
+            root = child;
+        } else if (left(parent) == current) {
+            setLeft(parent, child);
+        } else {
+            setRight(parent, child);
+        }
+        arena.free(current);
+        return true;
+    }
+
+    /** Removes every node and returns all slots to the arena. */
+    public void clear() {
+        arena.clear();
+        root = NodeArena.NULL;
+    }
+
+    // -------------------------------
+    // 3. Traversals (no recursion)
+    // -------------------------------
+
+    /** In-order traversal: left subtree, node, right subtree. */
+    public void inOrder() {
+        int[] stack = new int[64];
+        int top = 0;
+        int current = root;
+        while (current != NodeArena.NULL || top > 0) {
+            while (current != NodeArena.NULL) {    // Go as far left as possible.
+                stack = push(stack, top++, current);
+                current = left(current);
+            }
+            current = stack[--top];
+            System.out.print(value(current) + " ");
+            current = right(current);
+        }
+    }
+
+    /** Pre-order traversal: node, left subtree, right subtree. */
+    public void preOrder() {
+        if (root == NodeArena.NULL) {
+            return;
+        }
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int current = stack[--top];
+            System.out.print(value(current) + " ");
+            if (right(current) != NodeArena.NULL) {  // Pushed first, so visited after the left subtree.
+                stack = push(stack, top++, right(current));
+            }
+            if (left(current) != NodeArena.NULL) {
+                stack = push(stack, top++, left(current));
+            }
+        }
+    }
+
+    /** Post-order traversal: left subtree, right subtree, node. */
+    public void postOrder() {
+        int[] stack = new int[64];
+        int top = 0;
+        int current = root;
+        int lastVisited = NodeArena.NULL;
+        while (current != NodeArena.NULL || top > 0) {
+            while (current != NodeArena.NULL) {
+                stack = push(stack, top++, current);
+                current = left(current);
+            }
+            int peek = stack[top - 1];
+            int right = right(peek);
+            if (right != NodeArena.NULL && right != lastVisited) {
+                current = right;                       // Visit the right subtree first.
+            } else {
+                System.out.print(value(peek) + " ");
+                lastVisited = peek;
+                top--;
+            }
+        }
+    }
+
+    /** Level-order traversal: level by level, using an IntQueue. */
+    public void levelOrder() {
+        if (root == NodeArena.NULL) {
+            return;
+        }
+        IntQueue queue = new IntQueue();
+        queue.add(root);
+        while (queue.count > 0) {
+            int current = queue.poll();
+            System.out.print(value(current) + " ");
+            queue.addIfNotNull(left(current));
+            queue.addIfNotNull(right(current));
+        }
+    }
+
+    /** @return The height of the tree (0 for an empty tree), counted level by level. */
+    public int height() {
+        if (root == NodeArena.NULL) {
+            return 0;
+        }
+        IntQueue queue = new IntQueue();
+        queue.add(root);
+        int height = 0;
+        while (queue.count > 0) {
+            height++;
+            for (int i = queue.count; i > 0; i--) {   // Replace this level by the next one.
+                int current = queue.poll();
+                queue.addIfNotNull(left(current));
+                queue.addIfNotNull(right(current));
+            }
+        }
+        return height;
+    }
+
+    /** A growable circular queue of slot numbers. */
+    private static final class IntQueue {
+        int[] items = new int[64];
+        int first;
+        int count;
+
+        void addIfNotNull(int node) {
+            if (node != NodeArena.NULL) {
+                add(node);
+            }
+        }
+
+        void add(int node) {
+            if (count == items.length) {           // Full: unwrap into a bigger array.
+                int[] bigger = new int[items.length * 2];
+                for (int i = 0; i < count; i++) {
+                    bigger[i] = items[(first + i) % items.length];
+                }
+                items = bigger;
+                first = 0;
+            }
+            items[(first + count++) % items.length] = node;
+        }
+
+        int poll() {
+            int node = items[first];
+            first = (first + 1) % items.length;
+            count--;
+            return node;
+        }
+    }
+
+    /** Stores 'node' at stack[index], doubling the stack first if it is full. */
+    private static int[] push(int[] stack, int index, int node) {
+        if (index == stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+        }
+        stack[index] = node;
+        return stack;
+    }
+
+    // -------------------------------
+    // 4. Demonstration
+    // -------------------------------
+    public static void main(String[] args) {
+        // The same tree as IDetailedBinaryTreeExample, linked by hand:
+        //
+        //         10
+        //        /  \
+        //       5    15
+        //      / \
+        //     2   7
+        //
+        ArenaBinaryTree tree = new ArenaBinaryTree();
+        int root = tree.newNode(10);
+        int five = tree.newNode(5);
+        tree.setRoot(root);
+        tree.setLeft(root, five);
+        tree.setRight(root, tree.newNode(15));
+        tree.setLeft(five, tree.newNode(2));
+        tree.setRight(five, tree.newNode(7));
+
+        System.out.print("In-order Traversal: ");
+        tree.inOrder();                                 // 2 5 7 10 15
+        System.out.print("\nPre-order Traversal: ");
+        tree.preOrder();                                // 10 5 2 7 15
+        System.out.print("\nPost-order Traversal: ");
+        tree.postOrder();                               // 2 7 5 15 10
+        System.out.print("\nLevel-order Traversal: ");
+        tree.levelOrder();                              // 10 5 15 2 7
+        System.out.println("\nHeight: " + tree.height()); // 3
+
+        // ----- A Large Search Tree, Shrunk and Regrown -----
+        // Deleted nodes go to the free list and the regrown nodes reuse them: no new buffers.
+        ArenaBinaryTree big = new ArenaBinaryTree();
+        Random random = new Random(42);
+        while (big.size() < 1_000_000) {
+            big.insert(random.nextInt());
+        }
+        long reserved = big.arena().reservedBytes();
+        random = new Random(42);
+        for (int i = 0; i < 500_000; i++) {
+            big.delete(random.nextInt());
+        }
+        int afterDelete = big.size();
+        random = new Random(7);
+        while (big.size() < 1_000_000) {
+            big.insert(random.nextInt());
+        }
+        System.out.println("\n1000000 nodes, " + afterDelete + " after deletes, " + big.size() + " regrown; off-heap: "
+                + (reserved >> 20) + " MB in " + big.arena().bufferCount() + " buffer(s), unchanged: "
+                + (reserved == big.arena().reservedBytes()));
+        System.out.println("Height: " + big.height());
+
+        // -------------------------------------------------------------------------------------
+        // ADVANCED NOTES:
+        // -------------------------------------------------------------------------------------
+        // - Each node takes 12 bytes instead of the ~24 bytes of a TreeNode object, and the GC
+        //   never traces the tree: see NodeArena.
+        // - The slot numbers of a tree built in one pass are close together, so the nodes of a
+        //   subtree tend to share cache lines and pages.
+    }
+}
@@ -0,0 +1,259 @@
+package datastructures;
+
+import java.util.Arrays;
+
+/**
+ * ArenaLinkedList is datastructures.LinkedList with its nodes stored in a NodeArena (off-heap)
+ * instead of as ListNode objects. It has the same operations, including the tail pointer, size
+ * counter and bulk operations.
+ *
+ * HOW THE NODES ARE STORED:
+ * -------------------------
+ * A node is an int slot number with two int fields: VALUE and NEXT. NEXT holds the slot number
+ * of the next node, and NodeArena.NULL (0) plays the role of null. So this code reads exactly
+ * like LinkedList, with arena.get(node, NEXT) in place of node.next.
+ *
+ * Deleted nodes go back to the arena's free list and are reused by later inserts, so a list that
+ * keeps changing does not keep growing. Several lists can share one arena; that is what makes an
+ * O(1) splice between them possible.
+ */
+public class ArenaLinkedList {
+
+    private static final int VALUE = 0;  // Field index of the node's value.
+    private static final int NEXT = 1;   // Field index of the next node's slot number.
+
+    private final NodeArena arena;
+    private int head = NodeArena.NULL;   // Slot of the first node.
+    private int tail = NodeArena.NULL;   // Slot of the last node.
+    private int size;
+
+    // Constructor to create an empty list with its own arena.
+    public ArenaLinkedList() {
+        this(new NodeArena(2));
+    }
+
+    // Constructor to create an empty list that allocates its nodes in a shared arena (2 fields per node).
+    public ArenaLinkedList(NodeArena arena) {
+        this.arena = arena;
+    }
+
+    /** @return The arena that holds this list's nodes. */
+    public NodeArena arena() {
+        return arena;
+    }
+
+    private int newNode(int value, int next) {
+        int node = arena.allocate();
+        arena.set(node, VALUE, value);
+        arena.set(node, NEXT, next);
+        return node;
+    }
+
+    // -------------------------------
+    // 1. Insertion Methods
+    // -------------------------------
+
+    // Insert a new node at the beginning of the list.
+    public void insertAtHead(int value) {
+        head = newNode(value, head);
+        if (tail == NodeArena.NULL) {
+            tail = head;
+        }
+        size++;
+    }
+
+    // Insert a new node at the end of the list in O(1), using the tail pointer.
+    public void insertAtTail(int value) {
+        int node = newNode(value, NodeArena.NULL);
+        if (head == NodeArena.NULL) {
+            head = node;
+        } else {
+            arena.set(tail, NEXT, node);
+        }
+        tail = node;
+        size++;
+    }
+
+    // Append all values of an array at the end of the list, in order.
+    public void addAll(int[] values) {
+        for (int value : values) {
+            insertAtTail(value);
+        }
+    }
+
+    // Insert a new node after the first occurrence of a node with the given target value.
+    public boolean insertAfter(int target, int value) {
+        for (int current = head; current != NodeArena.NULL; current = arena.get(current, NEXT)) {
+            if (arena.get(current, VALUE) == target) {
+                int node = newNode(value, arena.get(current, NEXT));
+                arena.set(current, NEXT, node);
+                if (current == tail) {
+                    tail = node;
+                }
+                size++;
+                return true;  // Insertion successful.
+            }
+        }
+        return false; // Target not found.
+    }
+
+    // -------------------------------
+    // 2. Deletion Methods
+    // -------------------------------
+
+    // Delete the first node that contains the given value; its slot goes back to the arena's free list.
+    public boolean delete(int value) {
+        int previous = NodeArena.NULL;
+        for (int current = head; current != NodeArena.NULL; previous = current, current = arena.get(current, NEXT)) {
+            if (arena.get(current, VALUE) == value) {
+                int next = arena.get(current, NEXT);
+                if (previous == NodeArena.NULL) {
+                    head = next;
+                } else {
+                    arena.set(previous, NEXT, next);
+                }
+                if (current == tail) {
+                    tail = previous;
+                }
+                arena.free(current);
+                size--;
+                return true; // Deletion successful.
+            }
+        }
+        return false; // The value was not found in the list.
+    }
+
+    // Delete every node, returning all slots to the arena.
+    public void clear() {
+        int current = head;
+        while (current != NodeArena.NULL) {
+            int next = arena.get(current, NEXT);
+            arena.free(current);
+            current = next;
+        }
+        head = NodeArena.NULL;
+        tail = NodeArena.NULL;
+        size = 0;
+    }
+
+    // -------------------------------
+    // 3. Traversal Methods
+    // -------------------------------
+
+    // Print all nodes in the linked list.
+    public void printList() {
+        StringBuilder out = new StringBuilder();
+        for (int current = head; current != NodeArena.NULL; current = arena.get(current, NEXT)) {
+            out.append(arena.get(current, VALUE)).append(" -> ");
+        }
+        System.out.println(out.append("null"));
+    }
+
+    // Return the number of nodes in the list, in O(1).
+    public int size() {
+        return size;
+    }
+
+    // Copy all values into a new array, in list order.
+    public int[] toArray() {
+        int[] values = new int[size];
+        int i = 0;
+        for (int current = head; current != NodeArena.NULL; current = arena.get(current, NEXT)) {
+            values[i++] = arena.get(current, VALUE);
+        }
+        return values;
+    }
+
+    // -------------------------------
+    // 4. Reverse the Linked List
+    // -------------------------------
+
+    // Reverse the linked list in place.
+    public void reverse() {
+        int prev = NodeArena.NULL;
+        int current = head;
+        tail = head;
+        while (current != NodeArena.NULL) {
+            int nextTemp = arena.get(current, NEXT);
+            arena.set(current, NEXT, prev);
+            prev = current;
+            current = nextTemp;
+        }
+        head = prev;
+    }
+
+    // -------------------------------
+    // 5. Splice (Concatenate) Two Lists
+    // -------------------------------
+
+    // Move all nodes of 'other' to the end of this list in O(1). Both lists must share one arena,
+    // because a slot number only means something inside its own arena. 'other' is left empty.
+    public void splice(ArenaLinkedList other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot splice a list onto itself");
+        }
+        if (other.arena != arena) {
+            throw new IllegalArgumentException("Cannot splice lists from different arenas");
+        }
+        if (other.head == NodeArena.NULL) {
+            return;
+        }
+        if (head == NodeArena.NULL) {
+            head = other.head;
+        } else {
+            arena.set(tail, NEXT, other.head);
+        }
+        tail = other.tail;
+        size += other.size;
+        other.head = NodeArena.NULL;
+        other.tail = NodeArena.NULL;
+        other.size = 0;
+    }
+
+    // -------------------------------
+    // 6. Demonstration
+    // -------------------------------
+    public static void main(String[] args) {
+        // The same steps as DDetailedLinkedListExample, with the same output.
+        NodeArena shared = new NodeArena(2);
+        ArenaLinkedList list = new ArenaLinkedList(shared);
+        list.addAll(new int[] {10, 20, 30});
+        list.insertAtHead(5);
+        list.insertAfter(10, 15);
+        list.delete(20);
+        list.printList();  // Expected output: 5 -> 10 -> 15 -> 30 -> null
+        list.reverse();
+        list.printList();  // Expected output: 30 -> 15 -> 10 -> 5 -> null
+        list.reverse();
+
+        ArenaLinkedList more = new ArenaLinkedList(shared);
+        more.addAll(new int[] {40, 50});
+        list.splice(more);
+        System.out.println("After splice: " + Arrays.toString(list.toArray()));  // [5, 10, 15, 30, 40, 50]
+
+        // ----- Reuse Through the Free List -----
+        // Ten million nodes, then delete and re-add the first million: the deleted slots are
+        // reused, so the arena does not grow.
+        ArenaLinkedList big = new ArenaLinkedList();
+        for (int i = 0; i < 10_000_000; i++) {
+            big.insertAtTail(i);
+        }
+        long reserved = big.arena().reservedBytes();
+        for (int i = 0; i < 1_000_000; i++) {
+            big.delete(i);          // Always the head, so each delete is O(1).
+        }
+        for (int i = 0; i < 1_000_000; i++) {
+            big.insertAtHead(i);
+        }
+        System.out.println("\n" + big.size() + " nodes; off-heap: " + (big.arena().reservedBytes() >> 20) + " MB in "
+                + big.arena().bufferCount() + " buffer(s), unchanged: " + (reserved == big.arena().reservedBytes()));
+
+        // -------------------------------------------------------------------------------------
+        // ADVANCED NOTES:
+        // -------------------------------------------------------------------------------------
+        // - Each node takes 8 bytes instead of the ~24 bytes of a ListNode object.
+        // - Slot numbers are not type-checked like references: using a freed slot silently
+        //   reads whatever reuses it. That is the price of taking memory management back from the GC.
+        // - See DDetailedLinkedListExample for the GC pause comparison with LinkedList.
+    }
+}
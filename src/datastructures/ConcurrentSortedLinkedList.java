@@ -0,0 +1,284 @@
+package datastructures;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * ConcurrentSortedLinkedList is a sorted set of ints stored in a singly linked list that many
+ * threads can update at the same time without locks (the Harris-Michael algorithm).
+ *
+ * WHY NOT JUST USE A LOCK?
+ * ------------------------
+ * datastructures.LinkedList is not thread-safe. Guarding it with one lock is correct, but then
+ * only one thread can work on the list at any moment, however many cores there are. Here, threads
+ * working on different parts of the list never wait for each other.
+ *
+ * HOW IT WORKS:
+ * -------------
+ * 1. CAS (compare-and-set): a node is inserted by building it off to the side and then swinging
+ *    pred.next from 'curr' to the new node in one atomic step, which only succeeds if pred.next
+ *    is still 'curr'. If another thread changed it first, we search again and retry.
+ * 2. LOGICAL DELETION: unlinking a node with a single CAS is not safe: a concurrent insert right
+ *    after that node would be lost with it. So a delete first MARKS the victim, and from then on
+ *    nothing can be inserted after it; only then does it unlink the victim with a second CAS.
+ *    The mark is a tiny "marker" node CASed in as the victim's next (victim -> marker -> successor).
+ *    This is how java.util.concurrent.ConcurrentSkipListMap marks nodes: unlike an
+ *    AtomicMarkableReference, which wraps every next pointer in two extra objects, a traversal
+ *    still follows just one plain (volatile) reference per node.
+ * 3. HELPING: a thread that walks past a marked node unlinks it itself, so a delete that stalled
+ *    between its two steps cannot block anyone.
+ *
+ * contains() never writes or retries (it is wait-free): it walks the list and checks the mark.
+ * Every operation is linearizable: it appears to happen at one instant between its call and return.
+ */
+public class ConcurrentSortedLinkedList {
+
+    private static final class Node {
+        final int value;
+        final boolean marker;   // True for the marker nodes that flag their predecessor as deleted.
+        volatile Node next;
+
+        Node(int value, Node next, boolean marker) {
+            this.value = value;
+            this.next = next;
+            this.marker = marker;
+        }
+
+        /** A node is logically deleted once a marker node follows it. */
+        boolean isDeleted() {
+            Node n = next;
+            return n != null && n.marker;
+        }
+    }
+
+    /** Atomic compare-and-set on Node.next, without wrapping every reference in an object. */
+    private static final AtomicReferenceFieldUpdater<Node, Node> NEXT =
+            AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "next");
+
+    /** The result of find(): pred.value < key <= curr.value (curr is null at the end of the list). */
+    private static final class Window {
+        final Node pred;
+        final Node curr;
+
+        Window(Node pred, Node curr) {
+            this.pred = pred;
+            this.curr = curr;
+        }
+    }
+
+    // Sentinel before the first real node; it is never deleted and its value is never compared,
+    // so every int can be stored.
+    private final Node head = new Node(0, null, false);
+
+    /**
+     * Finds the first non-deleted node whose value is >= key, unlinking deleted nodes on the way.
+     */
+    private Window find(int key) {
+        retry:
+        while (true) {
+            Node pred = head;
+            Node curr = pred.next;
+            while (curr != null) {
+                if (curr.marker) {
+                    continue retry;  // pred itself was deleted after we stepped onto it: start over.
+                }
+                Node succ = curr.next;
+                if (succ != null && succ.marker) {
+                    // curr is logically deleted: help unlink it (skipping its marker too).
+                    if (!NEXT.compareAndSet(pred, curr, succ.next)) {
+                        continue retry;
+                    }
+                    curr = succ.next;
+                    continue;
+                }
+                if (curr.value >= key) {
+                    return new Window(pred, curr);
+                }
+                pred = curr;
+                curr = succ;
+            }
+            return new Window(pred, null);
+        }
+    }
+
+    /**
+     * Inserts a value, keeping the list sorted.
+     *
+     * @param value The value to insert.
+     * @return True if it was inserted, false if it was already present.
+     */
+    public boolean insert(int value) {
+        while (true) {
+            Window window = find(value);
+            if (window.curr != null && window.curr.value == value) {
+                return false;
+            }
+            Node node = new Node(value, window.curr, false);
+            // Fails if pred.next changed, including when pred was marked (its next is then a marker).
+            if (NEXT.compareAndSet(window.pred, window.curr, node)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Deletes a value.
+     *
+     * @param value The value to delete.
+     * @return True if it was deleted, false if it was not present.
+     */
+    public boolean delete(int value) {
+        while (true) {
+            Window window = find(value);
+            Node curr = window.curr;
+            if (curr == null || curr.value != value) {
+                return false;
+            }
+            Node succ = curr.next;
+            if (succ != null && succ.marker) {
+                continue;  // Another thread deleted curr first; find() will unlink it and report absence.
+            }
+            // Step 1 (the linearization point): mark curr as deleted by putting a marker after it.
+            if (!NEXT.compareAndSet(curr, succ, new Node(0, succ, true))) {
+                continue;  // curr.next changed (an insert right after curr): retry.
+            }
+            // Step 2: try to unlink curr and its marker. If this fails, a later find() will do it.
+            NEXT.compareAndSet(window.pred, curr, succ);
+            return true;
+        }
+    }
+
+    /**
+     * Returns whether the value is in the list. Wait-free: it never retries.
+     *
+     * @param value The value to search for.
+     * @return True if the value is present.
+     */
+    public boolean contains(int value) {
+        Node curr = head.next;
+        while (curr != null && (curr.marker || curr.value < value)) {
+            curr = curr.next;
+        }
+        return curr != null && curr.value == value && !curr.isDeleted();
+    }
+
+    /**
+     * Returns the values that are not deleted, in order. While other threads are updating the
+     * list this is not an atomic snapshot: it may include some of their changes and miss others.
+     *
+     * @return The values in ascending order.
+     */
+    public int[] toArray() {
+        List<Integer> values = new ArrayList<>();
+        for (Node curr = head.next; curr != null; curr = curr.next) {
+            if (!curr.marker && !curr.isDeleted()) {
+                values.add(curr.value);
+            }
+        }
+        int[] result = new int[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values.get(i);
+        }
+        return result;
+    }
+
+    /** @return The number of values (counted by walking the list; not atomic under concurrent updates). */
+    public int size() {
+        return toArray().length;
+    }
+
+    // Print all values in the list.
+    public void printList() {
+        StringBuilder out = new StringBuilder();
+        for (int value : toArray()) {
+            out.append(value).append(" -> ");
+        }
+        System.out.println(out.append("null"));
+    }
+
+    /**
+     * Stress test: 'threads' threads run random inserts and deletes on a small key range, so they
+     * constantly collide. Each thread counts, per key, its successful inserts minus its successful
+     * deletes. In any linearizable execution, the totals over all threads must be exactly 1 for
+     * the keys in the final list and 0 for the others, and the list must be strictly increasing.
+     *
+     * @throws IllegalStateException If a check fails.
+     */
+    static void stressTest(int threads, int operationsPerThread, int keyRange) throws InterruptedException {
+        ConcurrentSortedLinkedList list = new ConcurrentSortedLinkedList();
+        int[][] balance = new int[threads][keyRange];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            workers[t] = new Thread(() -> {
+                Random random = new Random(id);
+                for (int i = 0; i < operationsPerThread; i++) {
+                    int key = random.nextInt(keyRange);
+                    if (random.nextBoolean()) {
+                        balance[id][key] += list.insert(key) ? 1 : 0;
+                    } else {
+                        balance[id][key] -= list.delete(key) ? 1 : 0;
+                    }
+                    list.contains(random.nextInt(keyRange));
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        int[] values = list.toArray();
+        for (int i = 1; i < values.length; i++) {
+            if (values[i - 1] >= values[i]) {
+                throw new IllegalStateException("List is not strictly increasing at index " + i);
+            }
+        }
+        for (int key = 0; key < keyRange; key++) {
+            int total = 0;
+            for (int t = 0; t < threads; t++) {
+                total += balance[t][key];
+            }
+            int expected = list.contains(key) ? 1 : 0;
+            if (total != expected) {
+                throw new IllegalStateException("Key " + key + ": inserts - deletes = " + total
+                        + " but contains() = " + (expected == 1));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        // -------------------------------------------------------------------------------------
+        // EXAMPLE 1: Single-Threaded Use (it is a sorted set)
+        // -------------------------------------------------------------------------------------
+        ConcurrentSortedLinkedList list = new ConcurrentSortedLinkedList();
+        list.insert(30);
+        list.insert(10);
+        list.insert(20);
+        System.out.println("Insert 20 again: " + list.insert(20));   // false (already present)
+        list.printList();                                              // 10 -> 20 -> 30 -> null
+        list.delete(20);
+        list.printList();                                              // 10 -> 30 -> null
+        System.out.println("Contains 30? " + list.contains(30));      // true
+
+        // -------------------------------------------------------------------------------------
+        // EXAMPLE 2: Stress Test With Colliding Threads
+        // -------------------------------------------------------------------------------------
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        for (int keyRange : new int[] {8, 64, 1024}) {
+            stressTest(threads, 200_000, keyRange);
+            System.out.println("Stress test passed: " + threads + " threads, keys 0.." + (keyRange - 1));
+        }
+
+        // -------------------------------------------------------------------------------------
+        // ADVANCED NOTES:
+        // -------------------------------------------------------------------------------------
+        // - Java's garbage collector makes this algorithm much simpler than in C: a node that one
+        //   thread unlinked can still be read safely by another thread that is walking over it.
+        // - Every operation still walks the list, O(n). For large sets, a skip list
+        //   (java.util.concurrent.ConcurrentSkipListSet) gives O(log n) with the same techniques.
+        // - See benchmarks.ConcurrentListBenchmark for throughput from 1 to N threads.
+    }
+}
@@ -1,5 +1,8 @@
 package datastructures;
 
+import java.util.Arrays;
+import java.util.Random;
+
 // Define a Node class for a singly linked list.
 class ListNode {
     int value;       // The data stored in the node.
@@ -15,10 +18,14 @@ class ListNode {
 // Define a datastructures.LinkedList class that encapsulates various operations.
 class LinkedList {
     ListNode head;   // Pointer to the first node in the linked list.
+    ListNode tail;   // Pointer to the last node, so appending does not have to walk the list.
+    int size;        // Number of nodes in the list.
 
     // Constructor to initialize an empty linked list.
     public LinkedList() {
         this.head = null;
+        this.tail = null;
+        this.size = 0;
     }
 
     // -------------------------------
@@ -33,24 +40,34 @@ class LinkedList {
         newNode.next = head;
         // Update the head to be the new node.
         head = newNode;
+        // In an empty list, the new node is also the last node.
+        if (tail == null) {
+            tail = newNode;
+        }
+        size++;
     }
 
-    // Insert a new node at the end of the list.
+    // Insert a new node at the end of the list in O(1), using the tail pointer.
     public void insertAtTail(int value) {
         // Create a new node.
         ListNode newNode = new ListNode(value);
         // If the list is empty, the new node becomes the head.
         if (head == null) {
             head = newNode;
-            return;
+        } else {
+            // Otherwise, link the last node to the new node. No traversal needed.
+            tail.next = newNode;
         }
-        // Otherwise, traverse to the end of the list.
-        ListNode current = head;
-        while (current.next != null) {
-            current = current.next;
+        // The new node is now the last node.
+        tail = newNode;
+        size++;
+    }
+
+    // Append all values of an array at the end of the list, in order.
+    public void addAll(int[] values) {
+        for (int value : values) {
+            insertAtTail(value);
         }
-        // Link the last node to the new node.
-        current.next = newNode;
     }
 
     // Insert a new node after the first occurrence of a node with the given target value.
@@ -64,6 +81,11 @@ class LinkedList {
                 // Insert it after the current node.
                 newNode.next = current.next;
                 current.next = newNode;
+                // Inserting after the last node makes the new node the last one.
+                if (current == tail) {
+                    tail = newNode;
+                }
+                size++;
                 return true;  // Insertion successful.
             }
             current = current.next;
@@ -84,14 +106,24 @@ class LinkedList {
         // If the head holds the value, update the head pointer.
         if (head.value == value) {
             head = head.next;
+            // If that was the only node, the list is now empty.
+            if (head == null) {
+                tail = null;
+            }
+            size--;
             return true;
         }
         // Traverse the list to find the node just before the node we want to delete.
         ListNode current = head;
         while (current.next != null) {
             if (current.next.value == value) {
+                // If we delete the last node, the node before it becomes the last one.
+                if (current.next == tail) {
+                    tail = current;
+                }
                 // Skip over the node to be deleted.
                 current.next = current.next.next;
+                size--;
                 return true; // Deletion successful.
             }
             current = current.next;
@@ -116,6 +148,22 @@ class LinkedList {
         System.out.println("null");
     }
 
+    // Return the number of nodes in the list, in O(1).
+    public int size() {
+        return size;
+    }
+
+    // Copy all values into a new array, in list order.
+    public int[] toArray() {
+        // The size counter tells us the array length up front: one pass, no resizing.
+        int[] values = new int[size];
+        int i = 0;
+        for (ListNode current = head; current != null; current = current.next) {
+            values[i++] = current.value;
+        }
+        return values;
+    }
+
     // -------------------------------
     // 4. Reverse the Linked List
     // -------------------------------
@@ -124,6 +172,7 @@ class LinkedList {
     public void reverse() {
         ListNode prev = null;          // Initially, there is no previous node.
         ListNode current = head;       // Start with the head node.
+        tail = head;                   // The old first node will be the new last node.
         while (current != null) {
             // Store the next node before changing the link.
             ListNode nextTemp = current.next;
@@ -136,12 +185,55 @@ class LinkedList {
         // After the loop, 'prev' will be the new head.
         head = prev;
     }
+
+    // -------------------------------
+    // 5. Splice (Concatenate) Two Lists
+    // -------------------------------
+
+    // Move all nodes of 'other' to the end of this list in O(1): only the tail pointer is relinked.
+    // The nodes are not copied, so 'other' is left empty (a node can only belong to one list).
+    public void splice(LinkedList other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot splice a list onto itself");
+        }
+        if (other.head == null) {
+            return;
+        }
+        if (head == null) {
+            head = other.head;
+        } else {
+            tail.next = other.head;
+        }
+        tail = other.tail;
+        size += other.size;
+        // Empty the other list.
+        other.head = null;
+        other.tail = null;
+        other.size = 0;
+    }
 }
 
 // -------------------------------
-// 5. Demonstration in the Main Class
+// 6. Demonstration in the Main Class
 // -------------------------------
 public class DDetailedLinkedListExample {
+
+    // The original insertAtTail, kept only to measure it: walk to the last node, then link.
+    private static void insertAtTailByWalking(LinkedList list, int value) {
+        ListNode newNode = new ListNode(value);
+        if (list.head == null) {
+            list.head = newNode;
+        } else {
+            ListNode current = list.head;
+            while (current.next != null) {
+                current = current.next;
+            }
+            current.next = newNode;
+        }
+        list.tail = newNode;
+        list.size++;
+    }
+
     public static void main(String[] args) {
         // Create an instance of datastructures.LinkedList.
         LinkedList list = new LinkedList();
@@ -188,5 +280,118 @@ public class DDetailedLinkedListExample {
         System.out.println("\nReversing the list again to restore original order:");
         list.reverse();
         list.printList();  // Expected output: 5 -> 10 -> 15 -> 30 -> null
+
+        // ----- Bulk Operations -----
+        LinkedList more = new LinkedList();
+        more.addAll(new int[] {40, 50, 60});
+        list.splice(more);  // O(1): links the tail of 'list' to the head of 'more'.
+        System.out.println("\nAfter addAll(40, 50, 60) on a second list and splicing it on:");
+        list.printList();  // Expected output: 5 -> 10 -> 15 -> 30 -> 40 -> 50 -> 60 -> null
+        System.out.println("Size: " + list.size() + ", as array: " + Arrays.toString(list.toArray()));
+        System.out.println("Second list is now empty: size " + more.size());
+
+        // ----- Benchmark: Building a List by Appending -----
+        // With a tail pointer every append is O(1), so building n nodes is O(n) instead of O(n^2).
+        int appendCount = 20_000;
+        long buildStart = System.nanoTime();
+        LinkedList walked = new LinkedList();
+        for (int i = 0; i < appendCount; i++) {
+            insertAtTailByWalking(walked, i);
+        }
+        long walkMillis = (System.nanoTime() - buildStart) / 1_000_000;
+        buildStart = System.nanoTime();
+        LinkedList appended = new LinkedList();
+        for (int i = 0; i < appendCount; i++) {
+            appended.insertAtTail(i);
+        }
+        long tailMicros = (System.nanoTime() - buildStart) / 1_000;
+        System.out.println("\nAppending " + appendCount + " values: walking to the end " + walkMillis
+                + " ms, with the tail pointer " + tailMicros + " us");
+
+        // ----- Unrolled Linked List: Memory Density and Traversal Speed -----
+        // UnrolledLinkedList has the same operations but stores up to 64 ints per node.
+        // Build one million values in both lists, then time a full traversal: deleting a value
+        // that is not in the list has to look at every element.
+        int n = 1_000_000;
+        LinkedList nodes = new LinkedList();
+        UnrolledLinkedList chunks = new UnrolledLinkedList();
+        for (int i = 0; i < n; i++) {
+            nodes.insertAtHead(i);
+            chunks.insertAtTail(i);
+        }
+        System.out.println("\n" + n + " values: " + n + " ListNodes (about " + (24L * n >> 20) + " MB) vs "
+                + chunks.chunkCount() + " chunks (about " + (296L * chunks.chunkCount() >> 20) + " MB)");
+        long bestNodes = Long.MAX_VALUE;
+        long bestChunks = Long.MAX_VALUE;
+        for (int round = 0; round < 10; round++) {
+            long start = System.nanoTime();
+            nodes.delete(-1);
+            bestNodes = Math.min(bestNodes, System.nanoTime() - start);
+            start = System.nanoTime();
+            chunks.delete(-1);
+            bestChunks = Math.min(bestChunks, System.nanoTime() - start);
+        }
+        System.out.println("Full traversal: LinkedList " + bestNodes / 1_000 + " us, UnrolledLinkedList "
+                + bestChunks / 1_000 + " us");
+
+        // ----- Skip List: O(log n) Lookups in a Sorted List -----
+        // LinkedList.delete and insertAfter scan from the head; SkipListSortedIntList finds the
+        // position through its express lanes. Delete and re-insert 2000 random values of 100000.
+        int sortedCount = 100_000;
+        LinkedList sortedNodes = new LinkedList();
+        SkipListSortedIntList skipList = new SkipListSortedIntList();
+        for (int i = 0; i < sortedCount; i++) {
+            sortedNodes.insertAtTail(2 * i);
+            skipList.insert(2 * i);
+        }
+        Random random = new Random(42);
+        long scanStart = System.nanoTime();
+        for (int i = 0; i < 2_000; i++) {
+            int value = 2 * random.nextInt(sortedCount);
+            sortedNodes.delete(value);
+            sortedNodes.insertAfter(value - 2, value);  // Back in its sorted place (except for 0).
+        }
+        long scanMillis = (System.nanoTime() - scanStart) / 1_000_000;
+        random = new Random(42);
+        long skipStart = System.nanoTime();
+        for (int i = 0; i < 2_000; i++) {
+            int value = 2 * random.nextInt(sortedCount);
+            skipList.delete(value);
+            skipList.insert(value);
+        }
+        long skipMicros = (System.nanoTime() - skipStart) / 1_000;
+        System.out.println("\n2000 deletes and re-inserts in a sorted list of " + sortedCount + ": LinkedList "
+                + scanMillis + " ms, SkipListSortedIntList " + skipMicros + " us");
+
+        // ----- Arena Linked List: Garbage Collection Cost -----
+        // A full GC has to trace every ListNode that is still reachable; ArenaLinkedList keeps its
+        // nodes off-heap in a few buffers, so the same GC has (almost) nothing to trace.
+        int gcNodes = 5_000_000;
+        LinkedList heapList = new LinkedList();
+        for (int i = 0; i < gcNodes; i++) {
+            heapList.insertAtHead(i);
+        }
+        long heapGcMillis = fullGcMillis();
+        System.out.println("\nFull GC with " + heapList.size() + " ListNodes alive: " + heapGcMillis + " ms");
+        heapList = null;  // Let the ListNodes be collected before the arena measurement.
+        System.gc();
+        ArenaLinkedList arenaList = new ArenaLinkedList();
+        for (int i = 0; i < gcNodes; i++) {
+            arenaList.insertAtHead(i);
+        }
+        long arenaGcMillis = fullGcMillis();
+        System.out.println("Full GC with " + arenaList.size() + " arena nodes alive (in "
+                + arenaList.arena().bufferCount() + " buffers): " + arenaGcMillis + " ms");
+    }
+
+    // Time one full garbage collection (the best of three, to skip one-off costs).
+    private static long fullGcMillis() {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            System.gc();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000;
     }
 }
@@ -1,7 +1,13 @@
 package datastructures;
 
+import algorithms.ParallelTreeAggregation;
+import algorithms.ParallelTreeAggregation.TreeShape;
+import algorithms.RecursionEngine.Trampoline;
+
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.Queue;
+import java.util.function.IntConsumer;
 
 // ============================================================
 // 1. Define the datastructures.TreeNode class.
@@ -105,6 +111,176 @@ public class IDetailedBinaryTreeExample {
         }
     }
 
+    // ============================================================
+    // Visitor traversals: no recursion, no allocation per node.
+    // ============================================================
+    //
+    // The traversals above print and recurse, so a degenerate tree a million levels deep
+    // overflows the call stack. The overloads below hand each value to an IntConsumer instead and
+    // never recurse. In-order and pre-order use Morris traversal (O(1) extra space); post-order and
+    // level-order use one growable array.
+
+    /**
+     * Morris in-order traversal with O(1) extra space.
+     *
+     * Instead of a stack, it temporarily points the right child of each node's in-order
+     * predecessor back at the node (a "thread"), follows that thread to come back up after the
+     * left subtree, and then removes it again. Every edge is walked at most three times, so it
+     * still runs in O(n). The tree is restored when the traversal returns, but it is modified
+     * while it runs: do not traverse the same tree from several threads at once, and do not let
+     * the visitor throw, or some threads are left in place.
+     *
+     * @param root    The root node of the binary tree.
+     * @param visitor Receives the values in in-order.
+     */
+    public static void inOrder(TreeNode root, IntConsumer visitor) {
+        TreeNode current = root;
+        while (current != null) {
+            if (current.left == null) {
+                visitor.accept(current.value);
+                current = current.right;
+                continue;
+            }
+            // Find the in-order predecessor: the rightmost node of the left subtree.
+            TreeNode predecessor = current.left;
+            while (predecessor.right != null && predecessor.right != current) {
+                predecessor = predecessor.right;
+            }
+            if (predecessor.right == null) {
+                predecessor.right = current;    // First visit: leave a thread back to current.
+                current = current.left;
+            } else {
+                predecessor.right = null;       // Came back through the thread: remove it.
+                visitor.accept(current.value);
+                current = current.right;
+            }
+        }
+    }
+
+    /**
+     * Morris pre-order traversal with O(1) extra space. The same as the Morris in-order traversal,
+     * except that a node is visited when its thread is created, before its left subtree.
+     *
+     * @param root    The root node of the binary tree.
+     * @param visitor Receives the values in pre-order.
+     */
+    public static void preOrder(TreeNode root, IntConsumer visitor) {
+        TreeNode current = root;
+        while (current != null) {
+            if (current.left == null) {
+                visitor.accept(current.value);
+                current = current.right;
+                continue;
+            }
+            TreeNode predecessor = current.left;
+            while (predecessor.right != null && predecessor.right != current) {
+                predecessor = predecessor.right;
+            }
+            if (predecessor.right == null) {
+                visitor.accept(current.value);  // Visit before going into the left subtree.
+                predecessor.right = current;
+                current = current.left;
+            } else {
+                predecessor.right = null;
+                current = current.right;
+            }
+        }
+    }
+
+    /**
+     * Post-order traversal with an explicit array stack. The tree is not modified. The stack
+     * holds the path from the root to the current node and doubles when it is full, so the
+     * allocation is O(log height) arrays, not one object per node.
+     *
+     * @param root    The root node of the binary tree.
+     * @param visitor Receives the values in post-order.
+     */
+    public static void postOrder(TreeNode root, IntConsumer visitor) {
+        TreeNode[] stack = new TreeNode[64];
+        int top = 0;
+        TreeNode current = root;
+        TreeNode lastVisited = null;
+        while (current != null || top > 0) {
+            while (current != null) {           // Go as far left as possible.
+                if (top == stack.length) {
+                    stack = Arrays.copyOf(stack, top * 2);
+                }
+                stack[top++] = current;
+                current = current.left;
+            }
+            TreeNode peek = stack[top - 1];
+            if (peek.right != null && peek.right != lastVisited) {
+                current = peek.right;            // The right subtree comes before the node itself.
+            } else {
+                visitor.accept(peek.value);
+                lastVisited = peek;
+                stack[--top] = null;
+            }
+        }
+    }
+
+    /**
+     * Level-order traversal with an array used as a circular queue, instead of a
+     * java.util.LinkedList that allocates an entry object for every node. The queue never holds more
+     * than two adjacent levels and doubles when it is full.
+     *
+     * @param root    The root node of the binary tree.
+     * @param visitor Receives the values level by level, left to right.
+     */
+    public static void levelOrder(TreeNode root, IntConsumer visitor) {
+        if (root == null) {
+            return;
+        }
+        TreeNode[] queue = new TreeNode[64];
+        int first = 0;
+        int count = 0;
+        queue[count++] = root;
+        while (count > 0) {
+            TreeNode current = queue[first];
+            queue[first] = null;
+            first = (first + 1) % queue.length;
+            count--;
+            visitor.accept(current.value);
+            for (int side = 0; side < 2; side++) {
+                TreeNode child = side == 0 ? current.left : current.right;
+                if (child == null) {
+                    continue;
+                }
+                if (count == queue.length) {      // Full: unwrap into an array twice as big.
+                    TreeNode[] bigger = new TreeNode[count * 2];
+                    for (int i = 0; i < count; i++) {
+                        bigger[i] = queue[(first + i) % queue.length];
+                    }
+                    queue = bigger;
+                    first = 0;
+                }
+                queue[(first + count++) % queue.length] = child;
+            }
+        }
+    }
+
+    /**
+     * Height of the tree (the number of nodes on the longest root-to-leaf path), computed with
+     * a trampoline so that even a degenerate tree a million levels deep does not overflow the stack.
+     *
+     * The recursion is the usual height(node) = 1 + max(height(left), height(right)), but each
+     * recursive call is wrapped in a Trampoline step that RecursionEngine runs on the heap.
+     *
+     * @param root The root node of the binary tree.
+     * @return The height of the tree (0 for an empty tree).
+     */
+    public static int height(TreeNode root) {
+        return heightOf(root).run();
+    }
+
+    private static Trampoline<Integer> heightOf(TreeNode node) {
+        if (node == null) {
+            return Trampoline.done(0);
+        }
+        return Trampoline.more(() -> heightOf(node.left))
+                .flatMap(leftHeight -> heightOf(node.right).map(rightHeight -> 1 + Math.max(leftHeight, rightHeight)));
+    }
+
     // ============================================================
     // 3. Demonstration in the main() Method.
     // ============================================================
@@ -150,5 +326,62 @@ public class IDetailedBinaryTreeExample {
         System.out.print("Level-order Traversal: ");
         levelOrder(root);
         System.out.println();
+
+        // Height: Expected output: 3
+        System.out.println("Height: " + height(root));
+
+        // A degenerate tree (every node only has a left child) one million levels deep.
+        // The recursive traversals above would throw StackOverflowError on it; height() does not.
+        TreeNode deep = new TreeNode(0);
+        TreeNode last = deep;
+        for (int i = 1; i < 1_000_000; i++) {
+            last.left = new TreeNode(i);
+            last = last.left;
+        }
+        System.out.println("Height of the degenerate tree: " + height(deep)); // 1000000
+
+        // ============================================================
+        // 5. Visitor Traversals.
+        // ============================================================
+
+        // The same orders as above, delivered to a visitor instead of printed.
+        StringBuilder visited = new StringBuilder();
+        inOrder(root, value -> visited.append(value).append(' '));
+        System.out.println("In-order with a visitor: " + visited);     // 2 5 7 10 15
+
+        // Aggregations over the degenerate tree, which the recursive versions cannot traverse.
+        long[] sum = new long[1];
+        inOrder(deep, value -> sum[0] += value);
+        System.out.println("Sum (Morris in-order): " + sum[0]);        // 499999500000
+        sum[0] = 0;
+        preOrder(deep, value -> sum[0] += value);
+        System.out.println("Sum (Morris pre-order): " + sum[0]);
+        sum[0] = 0;
+        postOrder(deep, value -> sum[0] += value);
+        System.out.println("Sum (array-stack post-order): " + sum[0]);
+        sum[0] = 0;
+        levelOrder(deep, value -> sum[0] += value);
+        System.out.println("Sum (array-queue level-order): " + sum[0]);
+
+        // ============================================================
+        // 6. Parallel Aggregation.
+        // ============================================================
+
+        // ParallelTreeAggregation splits the subtrees near the root across the ForkJoinPool and
+        // walks the deeper ones iteratively; it only needs to know how to reach a node's children.
+        TreeShape<TreeNode> shape = TreeShape.of(node -> node.left, node -> node.right);
+        System.out.println("Parallel sum: " + ParallelTreeAggregation.aggregate(root, shape,
+                ParallelTreeAggregation.sum(node -> node.value)));                        // 39
+        System.out.println("Parallel max: " + ParallelTreeAggregation.aggregate(root, shape,
+                ParallelTreeAggregation.max(node -> node.value)));                        // 15
+        System.out.println("Parallel height of the degenerate tree: "
+                + ParallelTreeAggregation.aggregate(deep, shape, ParallelTreeAggregation.height())); // 1000000
+
+        // -------------------------------------------------------------------------------------
+        // ADVANCED NOTES:
+        // -------------------------------------------------------------------------------------
+        // - Morris traversal writes to the tree while it runs, so it cannot be used on a tree
+        //   that other threads read at the same time; the array-stack traversals only read.
+        // - The lambdas above are allocated once per traversal, not once per node.
     }
 }
@@ -0,0 +1,161 @@
+package datastructures;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * NodeArena stores fixed-size nodes (a few int fields each) outside the Java heap, in a handful of
+ * large direct ByteBuffers. It is the memory manager behind ArenaLinkedList and ArenaBinaryTree.
+ *
+ * WHY AN ARENA?
+ * -------------
+ * Every ListNode or TreeNode is a separate object that the garbage collector has to find, trace
+ * and possibly move. With hundreds of millions of nodes, a full GC has to visit hundreds of
+ * millions of objects, and pause times grow with them. In an arena:
+ * - A node is just a slot number (an int). Its fields are ints at a fixed position inside a buffer.
+ * - "References" between nodes are slot numbers too, so the GC never sees them.
+ * - The GC only sees the few buffer objects, however many nodes they hold. Direct buffers live
+ *   outside the heap, so their contents are not even scanned or copied.
+ *
+ * MEMORY LAYOUT:
+ * --------------
+ * Slot 0 is reserved to mean "no node" (like null). Slot s is in buffer s >>> SLOT_SHIFT, at byte
+ * (s & (SLOTS_PER_BUFFER - 1)) * slotBytes, and field f of the slot is the int f * 4 bytes further.
+ * New buffers are added as needed; existing ones never move, so slot numbers stay valid.
+ *
+ * FREE LIST:
+ * ----------
+ * free(s) does not give memory back to the operating system. It pushes the slot onto a free
+ * list, threaded through field 0 of the free slots themselves, and allocate() pops from that list
+ * before using fresh slots. So deleted nodes are recycled at no cost. Like free() in C, it is the
+ * caller's job not to use a slot after freeing it, and not to free it twice.
+ */
+public class NodeArena {
+
+    /** The slot number that means "no node". */
+    public static final int NULL = 0;
+
+    /** log2 of the number of slots per buffer: 2^20 slots, e.g. 12 MB for 3 int fields. */
+    private static final int SLOT_SHIFT = 20;
+    private static final int SLOTS_PER_BUFFER = 1 << SLOT_SHIFT;
+    private static final int SLOT_MASK = SLOTS_PER_BUFFER - 1;
+
+    private final int fieldCount;
+    private final int slotBytes;
+    private ByteBuffer[] buffers = new ByteBuffer[4];
+    private int bufferCount;
+    private int nextUnused = 1;   // The next never-used slot (slot 0 is NULL).
+    private int freeHead = NULL;  // The first slot of the free list.
+    private int liveNodes;
+
+    /**
+     * Creates an empty arena. No memory is reserved until the first allocate().
+     *
+     * @param fieldCount The number of int fields per node (at least 1).
+     */
+    public NodeArena(int fieldCount) {
+        if (fieldCount < 1 || fieldCount > 64) {
+            throw new IllegalArgumentException("fieldCount out of range: " + fieldCount);
+        }
+        this.fieldCount = fieldCount;
+        this.slotBytes = fieldCount * Integer.BYTES;
+    }
+
+    /**
+     * Allocates a node with all fields set to 0, reusing a freed slot if there is one.
+     *
+     * @return The slot number of the new node (never NULL).
+     */
+    public int allocate() {
+        int node;
+        if (freeHead != NULL) {
+            node = freeHead;
+            freeHead = get(node, 0);
+            for (int f = 0; f < fieldCount; f++) {
+                set(node, f, 0);
+            }
+        } else {
+            if (nextUnused == Integer.MAX_VALUE) {
+                throw new IllegalStateException("Arena is full (" + Integer.MAX_VALUE + " nodes)");
+            }
+            node = nextUnused++;
+            int buffer = node >>> SLOT_SHIFT;
+            if (buffer == bufferCount) {
+                addBuffer();  // Fresh direct buffers are already zeroed.
+            }
+        }
+        liveNodes++;
+        return node;
+    }
+
+    private void addBuffer() {
+        if (bufferCount == buffers.length) {
+            buffers = Arrays.copyOf(buffers, bufferCount * 2);
+        }
+        buffers[bufferCount++] = ByteBuffer.allocateDirect(SLOTS_PER_BUFFER * slotBytes).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Returns a node's slot to the free list, so the next allocate() can reuse it.
+     *
+     * @param node The slot number of a live node.
+     */
+    public void free(int node) {
+        if (node <= NULL || node >= nextUnused) {
+            throw new IllegalArgumentException("Not an allocated node: " + node);
+        }
+        set(node, 0, freeHead);
+        freeHead = node;
+        liveNodes--;
+    }
+
+    /** Frees every node at once. The buffers are kept for reuse. */
+    public void clear() {
+        for (ByteBuffer buffer : Arrays.copyOf(buffers, bufferCount)) {
+            for (int i = 0; i < buffer.capacity(); i += Long.BYTES) {
+                buffer.putLong(i, 0);
+            }
+        }
+        nextUnused = 1;
+        freeHead = NULL;
+        liveNodes = 0;
+    }
+
+    /**
+     * Reads an int field of a node.
+     *
+     * @param node  The slot number.
+     * @param field The field index (0 <= field < fieldCount).
+     * @return The field's value.
+     */
+    public int get(int node, int field) {
+        return buffers[node >>> SLOT_SHIFT].getInt((node & SLOT_MASK) * slotBytes + field * Integer.BYTES);
+    }
+
+    /**
+     * Writes an int field of a node.
+     *
+     * @param node  The slot number.
+     * @param field The field index (0 <= field < fieldCount).
+     * @param value The new value.
+     */
+    public void set(int node, int field, int value) {
+        buffers[node >>> SLOT_SHIFT].putInt((node & SLOT_MASK) * slotBytes + field * Integer.BYTES, value);
+    }
+
+    /** @return The number of allocated (not freed) nodes. */
+    public int liveNodes() {
+        return liveNodes;
+    }
+
+    /** @return The number of direct buffers: the only objects the GC sees, whatever the node count. */
+    public int bufferCount() {
+        return bufferCount;
+    }
+
+    /** @return The off-heap memory reserved by the buffers, in bytes. */
+    public long reservedBytes() {
+        return (long) bufferCount * SLOTS_PER_BUFFER * slotBytes;
+    }
+}
@@ -0,0 +1,671 @@
+package datastructures;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * SkipListSortedIntList is a sorted list of distinct ints with expected O(log n) insert, delete
+ * and lookup, where datastructures.LinkedList needs O(n) for each.
+ *
+ * WHAT IS A SKIP LIST?
+ * --------------------
+ * A sorted linked list with "express lanes" stacked on top of it. Every value is in the bottom
+ * list. Each node also gets a random number of levels: a quarter of the nodes reach level 1, a
+ * sixteenth reach level 2, and so on, and level k links only the nodes that reach it.
+ * A search starts in the top lane, runs right while the next value is still smaller than the
+ * target, then drops one level and repeats. Each lane skips about 4 nodes of the lane below, so a
+ * search takes about log4(n) drops with a few steps each: expected O(log n), with no rebalancing
+ * (the coin flips keep the lanes balanced on average).
+ *
+ * TWO MODES:
+ * ----------
+ * - new SkipListSortedIntList(): single-threaded. Each node has an array of next pointers, one per level.
+ * - new SkipListSortedIntList(true): thread-safe and lock-free, built like
+ *   java.util.concurrent.ConcurrentSkipListMap:
+ *   1. The bottom level is a lock-free Harris-Michael list (see ConcurrentSortedLinkedList): nodes
+ *      are linked in with CAS and deleted by CASing a marker node after them. It alone decides
+ *      what is in the list.
+ *   2. The lanes above are towers of Index objects (node, down, right). They are only a search
+ *      hint: they are added after a node is linked in, and an index whose node has been deleted is
+ *      unlinked by whichever search runs into it. If a race loses an index, searches just get
+ *      slightly slower; they never give wrong answers.
+ */
+public class SkipListSortedIntList {
+
+    /** The highest lane. With a quarter of the nodes reaching each next lane, 16 lanes cover 4^16 values. */
+    static final int MAX_LEVEL = 16;
+
+    /** The operations both modes implement. */
+    private interface Impl {
+        boolean insert(int value);
+
+        boolean delete(int value);
+
+        boolean contains(int value);
+
+        int size();
+
+        PrimitiveIterator.OfInt range(int from, int to);
+    }
+
+    private final Impl impl;
+
+    // Constructor to create an empty single-threaded list.
+    public SkipListSortedIntList() {
+        this(false);
+    }
+
+    // Constructor to create an empty list; 'concurrent' selects the lock-free, thread-safe mode.
+    public SkipListSortedIntList(boolean concurrent) {
+        this.impl = concurrent ? new LockFreeSkipList() : new SequentialSkipList();
+    }
+
+    /** @return A random level: 0 with probability 3/4, at least k with probability 1/4^k. */
+    private static int randomLevel() {
+        // Each pair of trailing zero bits in a random int has probability 1/4.
+        return Math.min(Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt()) / 2, MAX_LEVEL);
+    }
+
+    // -------------------------------
+    // 1. Insertion Methods
+    // -------------------------------
+
+    /**
+     * Inserts a value at its sorted position. Expected O(log n).
+     *
+     * @return True if it was inserted, false if it was already present.
+     */
+    public boolean insert(int value) {
+        return impl.insert(value);
+    }
+
+    /**
+     * The LinkedList operation in a sorted list: the position of a value is fixed by the sort
+     * order, so this inserts 'value' only if 'target' is in the list. Both steps are expected O(log n).
+     *
+     * @return True if target was found and value was inserted.
+     * @throws IllegalArgumentException If value is not greater than target (it could not go after it).
+     */
+    public boolean insertAfter(int target, int value) {
+        if (value <= target) {
+            throw new IllegalArgumentException(value + " cannot be placed after " + target + " in a sorted list");
+        }
+        return impl.contains(target) && impl.insert(value);
+    }
+
+    // -------------------------------
+    // 2. Deletion Method
+    // -------------------------------
+
+    /**
+     * Deletes a value. Expected O(log n).
+     *
+     * @return True if it was deleted, false if it was not present.
+     */
+    public boolean delete(int value) {
+        return impl.delete(value);
+    }
+
+    // -------------------------------
+    // 3. Lookup and Traversal Methods
+    // -------------------------------
+
+    /** @return True if the value is in the list. Expected O(log n). */
+    public boolean contains(int value) {
+        return impl.contains(value);
+    }
+
+    /**
+     * Iterates over the values in [from, to] (inclusive) in ascending order. Finding the first one
+     * takes expected O(log n); each further value is one step along the bottom list. In the
+     * concurrent mode the iterator is weakly consistent: it never fails, and it may or may not
+     * see updates made while it runs.
+     */
+    public PrimitiveIterator.OfInt range(int from, int to) {
+        return impl.range(from, to);
+    }
+
+    /** Iterates over all values in ascending order. */
+    public PrimitiveIterator.OfInt iterator() {
+        return impl.range(Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /** @return The number of values (O(1) single-threaded; a walk over the list in the concurrent mode). */
+    public int size() {
+        return impl.size();
+    }
+
+    // Copy all values into a new array, in ascending order.
+    public int[] toArray() {
+        List<Integer> values = new ArrayList<>();
+        iterator().forEachRemaining((int value) -> values.add(value));
+        int[] result = new int[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values.get(i);
+        }
+        return result;
+    }
+
+    // Print all values in the list.
+    public void printList() {
+        StringBuilder out = new StringBuilder();
+        iterator().forEachRemaining((int value) -> out.append(value).append(" -> "));
+        System.out.println(out.append("null"));
+    }
+
+    // -------------------------------
+    // 4. Single-Threaded Skip List
+    // -------------------------------
+
+    private static final class SequentialSkipList implements Impl {
+
+        private static final class Node {
+            final int value;
+            final Node[] next;   // next[k] is the next node in lane k.
+
+            Node(int value, int levels) {
+                this.value = value;
+                this.next = new Node[levels];
+            }
+        }
+
+        private final Node header = new Node(0, MAX_LEVEL + 1);  // Sentinel; its value is never compared.
+        private final Node[] update = new Node[MAX_LEVEL + 1];   // Reused by insert and delete.
+        private int level;                                         // The highest lane in use.
+        private int size;
+
+        /** Fills update[k] with the last node in lane k whose value is < value; returns the first node >= value. */
+        private Node findPredecessors(int value) {
+            Node x = header;
+            for (int k = level; k >= 0; k--) {
+                while (x.next[k] != null && x.next[k].value < value) {
+                    x = x.next[k];
+                }
+                update[k] = x;
+            }
+            return x.next[0];
+        }
+
+        @Override
+        public boolean insert(int value) {
+            Node found = findPredecessors(value);
+            if (found != null && found.value == value) {
+                return false;
+            }
+            int nodeLevel = randomLevel();
+            for (int k = level + 1; k <= nodeLevel; k++) {
+                update[k] = header;
+            }
+            level = Math.max(level, nodeLevel);
+            Node node = new Node(value, nodeLevel + 1);
+            for (int k = 0; k <= nodeLevel; k++) {
+                node.next[k] = update[k].next[k];
+                update[k].next[k] = node;
+            }
+            size++;
+            return true;
+        }
+
+        @Override
+        public boolean delete(int value) {
+            Node found = findPredecessors(value);
+            if (found == null || found.value != value) {
+                return false;
+            }
+            for (int k = 0; k < found.next.length; k++) {
+                update[k].next[k] = found.next[k];
+            }
+            while (level > 0 && header.next[level] == null) {
+                level--;
+            }
+            size--;
+            return true;
+        }
+
+        @Override
+        public boolean contains(int value) {
+            Node x = header;
+            for (int k = level; k >= 0; k--) {
+                while (x.next[k] != null && x.next[k].value < value) {
+                    x = x.next[k];
+                }
+            }
+            x = x.next[0];
+            return x != null && x.value == value;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public PrimitiveIterator.OfInt range(int from, int to) {
+            Node x = header;
+            for (int k = level; k >= 0; k--) {
+                while (x.next[k] != null && x.next[k].value < from) {
+                    x = x.next[k];
+                }
+            }
+            Node first = x.next[0];
+            return new PrimitiveIterator.OfInt() {
+                private Node next = first;
+
+                @Override
+                public boolean hasNext() {
+                    return next != null && next.value <= to;
+                }
+
+                @Override
+                public int nextInt() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    int value = next.value;
+                    next = next.next[0];
+                    return value;
+                }
+            };
+        }
+    }
+
+    // -------------------------------
+    // 5. Lock-Free Skip List
+    // -------------------------------
+
+    private static final class LockFreeSkipList implements Impl {
+
+        /** A node of the bottom list (the same scheme as ConcurrentSortedLinkedList). */
+        private static final class Node {
+            final int value;
+            final boolean marker;   // True for the marker nodes that flag their predecessor as deleted.
+            volatile Node next;
+
+            Node(int value, Node next, boolean marker) {
+                this.value = value;
+                this.next = next;
+                this.marker = marker;
+            }
+
+            boolean isDeleted() {
+                Node n = next;
+                return n != null && n.marker;
+            }
+        }
+
+        /** One entry of an express lane: it points at a bottom-list node and at the same node's entry one lane down. */
+        private static final class Index {
+            final Node node;
+            final Index down;
+            volatile Index right;
+
+            Index(Node node, Index down, Index right) {
+                this.node = node;
+                this.down = down;
+                this.right = right;
+            }
+        }
+
+        private static final AtomicReferenceFieldUpdater<Node, Node> NEXT =
+                AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "next");
+        private static final AtomicReferenceFieldUpdater<Index, Index> RIGHT =
+                AtomicReferenceFieldUpdater.newUpdater(Index.class, Index.class, "right");
+        private static final AtomicIntegerFieldUpdater<LockFreeSkipList> TOP_LEVEL =
+                AtomicIntegerFieldUpdater.newUpdater(LockFreeSkipList.class, "topLevel");
+
+        /** The result of find(): pred.value < key <= curr.value (curr is null at the end of the list). */
+        private static final class Window {
+            final Node pred;
+            final Node curr;
+
+            Window(Node pred, Node curr) {
+                this.pred = pred;
+                this.curr = curr;
+            }
+        }
+
+        private final Node header = new Node(0, null, false);   // Sentinel; never deleted or compared.
+        private final Index[] heads = new Index[MAX_LEVEL + 1]; // heads[k]: the header's entry in lane k (k >= 1).
+        private volatile int topLevel;                          // The highest lane that may hold entries.
+
+        LockFreeSkipList() {
+            Index down = null;
+            for (int k = 1; k <= MAX_LEVEL; k++) {
+                heads[k] = new Index(header, down, null);
+                down = heads[k];
+            }
+        }
+
+        /**
+         * Walks the express lanes down to the bottom list and returns a node whose value is < key
+         * (or the header). Unlinks lane entries of deleted nodes on the way.
+         */
+        private Node findPredecessor(int key) {
+            retry:
+            while (true) {
+                int top = topLevel;
+                if (top == 0) {
+                    return header;
+                }
+                Index q = heads[top];
+                while (true) {
+                    Index r = q.right;
+                    if (r != null) {
+                        Node n = r.node;
+                        if (n.isDeleted()) {
+                            if (!RIGHT.compareAndSet(q, r, r.right)) {
+                                continue retry;
+                            }
+                            continue;
+                        }
+                        if (n.value < key) {
+                            q = r;
+                            continue;
+                        }
+                    }
+                    if (q.down == null) {
+                        return q.node;
+                    }
+                    q = q.down;
+                }
+            }
+        }
+
+        /** Finds the first non-deleted bottom node whose value is >= key, unlinking deleted nodes on the way. */
+        private Window find(int key) {
+            retry:
+            while (true) {
+                Node pred = findPredecessor(key);
+                Node curr = pred.next;
+                while (curr != null) {
+                    if (curr.marker) {
+                        continue retry;  // pred is deleted: search again.
+                    }
+                    Node succ = curr.next;
+                    if (succ != null && succ.marker) {
+                        // curr is logically deleted: help unlink it (skipping its marker too).
+                        if (!NEXT.compareAndSet(pred, curr, succ.next)) {
+                            continue retry;
+                        }
+                        curr = succ.next;
+                        continue;
+                    }
+                    if (curr.value >= key) {
+                        return new Window(pred, curr);
+                    }
+                    pred = curr;
+                    curr = succ;
+                }
+                return new Window(pred, null);
+            }
+        }
+
+        @Override
+        public boolean insert(int value) {
+            while (true) {
+                Window window = find(value);
+                if (window.curr != null && window.curr.value == value) {
+                    return false;
+                }
+                Node node = new Node(value, window.curr, false);
+                if (NEXT.compareAndSet(window.pred, window.curr, node)) {
+                    // The value is in the list from here on; the lane entries only speed up searches.
+                    addIndexes(node, randomLevel());
+                    return true;
+                }
+            }
+        }
+
+        /** Links lane entries for a new node into lanes 1..level, bottom-up. */
+        private void addIndexes(Node node, int level) {
+            if (level == 0) {
+                return;
+            }
+            int top;
+            while ((top = topLevel) < level) {
+                // Raise the lane hint; no entry is lost if another thread raises it at the same time.
+                TOP_LEVEL.compareAndSet(this, top, level);
+            }
+            Index down = null;
+            for (int k = 1; k <= level; k++) {
+                Index index = new Index(node, down, null);
+                if (!linkIndex(index, k)) {
+                    return;  // The node was deleted meanwhile: no point in indexing it further.
+                }
+                down = index;
+            }
+        }
+
+        /** Inserts an entry into lane k at its sorted position. @return False if its node was deleted. */
+        private boolean linkIndex(Index index, int k) {
+            int key = index.node.value;
+            retry:
+            while (true) {
+                if (index.node.isDeleted()) {
+                    return false;
+                }
+                int level = Math.max(topLevel, k);
+                Index q = heads[level];
+                while (true) {
+                    Index r = q.right;
+                    if (r != null) {
+                        Node n = r.node;
+                        if (n.isDeleted()) {
+                            if (!RIGHT.compareAndSet(q, r, r.right)) {
+                                continue retry;
+                            }
+                            continue;
+                        }
+                        if (n.value < key) {
+                            q = r;
+                            continue;
+                        }
+                    }
+                    if (level > k) {
+                        q = q.down;
+                        level--;
+                        continue;
+                    }
+                    if (q.node.isDeleted()) {
+                        continue retry;  // Linking after a dying entry could lose ours: search again.
+                    }
+                    index.right = r;
+                    if (RIGHT.compareAndSet(q, r, index)) {
+                        return true;
+                    }
+                    continue retry;
+                }
+            }
+        }
+
+        @Override
+        public boolean delete(int value) {
+            while (true) {
+                Window window = find(value);
+                Node curr = window.curr;
+                if (curr == null || curr.value != value) {
+                    return false;
+                }
+                Node succ = curr.next;
+                if (succ != null && succ.marker) {
+                    continue;  // Another thread deleted curr first; find() will unlink it and report absence.
+                }
+                // Step 1 (the linearization point): mark curr as deleted by putting a marker after it.
+                if (!NEXT.compareAndSet(curr, succ, new Node(0, succ, true))) {
+                    continue;
+                }
+                // Step 2: unlink curr and its marker; a later search does it if this CAS fails.
+                NEXT.compareAndSet(window.pred, curr, succ);
+                findPredecessor(value);  // Unlinks the node's lane entries.
+                return true;
+            }
+        }
+
+        @Override
+        public boolean contains(int value) {
+            while (true) {
+                Node pred = findPredecessor(value);
+                Node curr = pred.next;
+                if (curr != null && curr.marker) {
+                    continue;  // The lanes led to a node that was deleted meanwhile: search again.
+                }
+                while (curr != null && (curr.marker || curr.value < value)) {
+                    curr = curr.next;
+                }
+                return curr != null && curr.value == value && !curr.isDeleted();
+            }
+        }
+
+        @Override
+        public int size() {
+            int count = 0;
+            for (PrimitiveIterator.OfInt it = range(Integer.MIN_VALUE, Integer.MAX_VALUE); it.hasNext(); it.nextInt()) {
+                count++;
+            }
+            return count;
+        }
+
+        @Override
+        public PrimitiveIterator.OfInt range(int from, int to) {
+            Node first = find(from).curr;
+            return new PrimitiveIterator.OfInt() {
+                private Node next = skipDeleted(first);
+
+                private Node skipDeleted(Node node) {
+                    while (node != null && (node.marker || node.isDeleted())) {
+                        node = node.next;
+                    }
+                    return node;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next != null && next.value <= to;
+                }
+
+                @Override
+                public int nextInt() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    int value = next.value;
+                    next = skipDeleted(next.next);
+                    return value;
+                }
+            };
+        }
+    }
+
+    // -------------------------------
+    // 6. Stress Test and Demonstration
+    // -------------------------------
+
+    /**
+     * Stress test for the concurrent mode, like ConcurrentSortedLinkedList.stressTest: per key, the
+     * successful inserts minus deletes over all threads must be 1 for the keys in the final list and
+     * 0 for the others, and the list must be strictly increasing.
+     *
+     * @throws IllegalStateException If a check fails.
+     */
+    static void stressTest(int threads, int operationsPerThread, int keyRange) throws InterruptedException {
+        SkipListSortedIntList list = new SkipListSortedIntList(true);
+        int[][] balance = new int[threads][keyRange];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            workers[t] = new Thread(() -> {
+                Random random = new Random(id);
+                for (int i = 0; i < operationsPerThread; i++) {
+                    int key = random.nextInt(keyRange);
+                    if (random.nextBoolean()) {
+                        balance[id][key] += list.insert(key) ? 1 : 0;
+                    } else {
+                        balance[id][key] -= list.delete(key) ? 1 : 0;
+                    }
+                    list.contains(random.nextInt(keyRange));
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        int[] values = list.toArray();
+        for (int i = 1; i < values.length; i++) {
+            if (values[i - 1] >= values[i]) {
+                throw new IllegalStateException("List is not strictly increasing at index " + i);
+            }
+        }
+        for (int key = 0; key < keyRange; key++) {
+            int total = 0;
+            for (int t = 0; t < threads; t++) {
+                total += balance[t][key];
+            }
+            int expected = list.contains(key) ? 1 : 0;
+            if (total != expected) {
+                throw new IllegalStateException("Key " + key + ": inserts - deletes = " + total
+                        + " but contains() = " + (expected == 1));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        // -------------------------------------------------------------------------------------
+        // EXAMPLE 1: The LinkedList Operations, Kept Sorted
+        // -------------------------------------------------------------------------------------
+        SkipListSortedIntList list = new SkipListSortedIntList();
+        list.insert(30);
+        list.insert(10);
+        list.insert(20);
+        list.insert(5);
+        list.insertAfter(10, 15);
+        list.delete(20);
+        list.printList();  // Expected output: 5 -> 10 -> 15 -> 30 -> null
+
+        // -------------------------------------------------------------------------------------
+        // EXAMPLE 2: Range Iteration
+        // -------------------------------------------------------------------------------------
+        SkipListSortedIntList big = new SkipListSortedIntList();
+        for (int i = 0; i < 1_000_000; i++) {
+            big.insert(i * 3);
+        }
+        StringBuilder range = new StringBuilder();
+        big.range(1_000, 1_020).forEachRemaining((int value) -> range.append(value).append(' '));
+        System.out.println("Values in [1000, 1020]: " + range);  // 1002 1005 ... 1020
+
+        long start = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < 1_000_000; i++) {
+            found += big.contains(i) ? 1 : 0;
+        }
+        System.out.println("1000000 lookups in a list of " + big.size() + ": " + found + " found, "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+
+        // -------------------------------------------------------------------------------------
+        // EXAMPLE 3: Concurrent Mode Under Colliding Threads
+        // -------------------------------------------------------------------------------------
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        for (int keyRange : new int[] {8, 64, 1024}) {
+            stressTest(threads, 200_000, keyRange);
+            System.out.println("Stress test passed: " + threads + " threads, keys 0.." + (keyRange - 1));
+        }
+
+        // -------------------------------------------------------------------------------------
+        // ADVANCED NOTES:
+        // -------------------------------------------------------------------------------------
+        // - With a quarter of the nodes promoted per lane, a node has 1.33 next pointers on
+        //   average (ConcurrentSkipListMap uses the same ratio); one half would search with
+        //   fewer steps but use 2 pointers per node.
+        // - Unlike a balanced tree, a skip list never restructures: each insert or delete only
+        //   changes the links next to one node, which is what makes the lock-free mode possible.
+        // - See DDetailedLinkedListExample for the speed-up over LinkedList, and
+        //   benchmarks.ConcurrentListBenchmark for concurrent throughput.
+    }
+}
@@ -0,0 +1,265 @@
+package datastructures;
+
+// Define a chunk node for the unrolled linked list: up to CAPACITY ints stored in one array.
+class IntChunk {
+    static final int CAPACITY = 64;
+
+    final int[] values = new int[CAPACITY];  // values[0 .. count - 1] are in use.
+    int count;                               // How many slots are in use.
+    IntChunk next;                           // Reference to the next chunk in the list.
+}
+
+/**
+ * UnrolledLinkedList is a linked list of int[] chunks instead of single-value nodes. It has the
+ * same operations as datastructures.LinkedList (insertAtHead, insertAtTail, insertAfter, delete,
+ * reverse, printList).
+ *
+ * WHY "UNROLL" A LINKED LIST?
+ * ---------------------------
+ * A plain LinkedList allocates one ListNode per int: about 24 bytes (object header, the int and
+ * the next pointer) to store 4 bytes of data, and every step of a traversal follows a pointer to
+ * a node that can be anywhere in memory (a likely cache miss).
+ *
+ * Here every node (an IntChunk) holds up to 64 ints in an array. Walking through a chunk reads
+ * consecutive memory, which the CPU prefetches, and only every 32 to 64 values do we follow a
+ * pointer. Memory use drops to about 5 to 9 bytes per value.
+ *
+ * KEEPING THE CHUNKS FULL:
+ * ------------------------
+ * - SPLIT: inserting into a full chunk first moves its upper half into a new chunk after it.
+ * - MERGE: when a delete leaves a chunk less than half full (MIN_FILL), it takes values from the
+ *   next chunk, or absorbs the next chunk completely if both fit into one.
+ * So every chunk except possibly the first and the last is at least half full.
+ * Appending at the tail or the head fills a fresh chunk completely instead of splitting,
+ * because that is the common way lists are built.
+ */
+public class UnrolledLinkedList {
+
+    /** Chunks with fewer values than this (other than the last one) are refilled after a delete. */
+    static final int MIN_FILL = IntChunk.CAPACITY / 2;
+
+    IntChunk head;   // Pointer to the first chunk (null when the list is empty).
+    IntChunk tail;   // Pointer to the last chunk, so insertAtTail does not have to walk the list.
+    int size;        // Number of values in the list.
+
+    // Constructor to initialize an empty list.
+    public UnrolledLinkedList() {
+        this.head = null;
+        this.tail = null;
+    }
+
+    // -------------------------------
+    // 1. Insertion Methods
+    // -------------------------------
+
+    // Insert a value at the beginning of the list.
+    public void insertAtHead(int value) {
+        if (head == null || head.count == IntChunk.CAPACITY) {
+            // Start a new first chunk; it fills up with the following insertAtHead calls.
+            IntChunk chunk = new IntChunk();
+            chunk.next = head;
+            head = chunk;
+            if (tail == null) {
+                tail = chunk;
+            }
+        }
+        insertInto(head, 0, value);
+    }
+
+    // Insert a value at the end of the list.
+    public void insertAtTail(int value) {
+        if (tail == null || tail.count == IntChunk.CAPACITY) {
+            IntChunk chunk = new IntChunk();
+            if (tail == null) {
+                head = chunk;
+            } else {
+                tail.next = chunk;
+            }
+            tail = chunk;
+        }
+        tail.values[tail.count++] = value;
+        size++;
+    }
+
+    // Insert a value after the first occurrence of the given target value.
+    public boolean insertAfter(int target, int value) {
+        for (IntChunk chunk = head; chunk != null; chunk = chunk.next) {
+            for (int i = 0; i < chunk.count; i++) {
+                if (chunk.values[i] == target) {
+                    insertInto(chunk, i + 1, value);
+                    return true;  // Insertion successful.
+                }
+            }
+        }
+        return false; // Target not found.
+    }
+
+    /** Inserts 'value' at position 'index' of the chunk, splitting the chunk first if it is full. */
+    private void insertInto(IntChunk chunk, int index, int value) {
+        if (chunk.count == IntChunk.CAPACITY) {
+            IntChunk upper = split(chunk);
+            if (index > chunk.count) {
+                index -= chunk.count;
+                chunk = upper;
+            }
+        }
+        // Shift values[index ..] one slot to the right to make room.
+        System.arraycopy(chunk.values, index, chunk.values, index + 1, chunk.count - index);
+        chunk.values[index] = value;
+        chunk.count++;
+        size++;
+    }
+
+    /** Moves the upper half of a chunk into a new chunk right after it and returns the new chunk. */
+    private IntChunk split(IntChunk chunk) {
+        IntChunk upper = new IntChunk();
+        int keep = chunk.count / 2;
+        upper.count = chunk.count - keep;
+        System.arraycopy(chunk.values, keep, upper.values, 0, upper.count);
+        chunk.count = keep;
+        upper.next = chunk.next;
+        chunk.next = upper;
+        if (tail == chunk) {
+            tail = upper;
+        }
+        return upper;
+    }
+
+    // -------------------------------
+    // 2. Deletion Method
+    // -------------------------------
+
+    // Delete the first occurrence of the given value.
+    public boolean delete(int value) {
+        IntChunk previous = null;
+        for (IntChunk chunk = head; chunk != null; previous = chunk, chunk = chunk.next) {
+            for (int i = 0; i < chunk.count; i++) {
+                if (chunk.values[i] == value) {
+                    // Close the gap by shifting the values after it one slot to the left.
+                    System.arraycopy(chunk.values, i + 1, chunk.values, i, chunk.count - i - 1);
+                    chunk.count--;
+                    size--;
+                    rebalance(previous, chunk);
+                    return true; // Deletion successful.
+                }
+            }
+        }
+        return false; // The value was not found in the list.
+    }
+
+    /** Restores the half-full rule for a chunk that just lost a value. */
+    private void rebalance(IntChunk previous, IntChunk chunk) {
+        if (chunk.count == 0) {
+            // Unlink the empty chunk.
+            if (previous == null) {
+                head = chunk.next;
+            } else {
+                previous.next = chunk.next;
+            }
+            if (tail == chunk) {
+                tail = previous;
+            }
+            return;
+        }
+        IntChunk next = chunk.next;
+        if (chunk.count >= MIN_FILL || next == null) {
+            return;
+        }
+        if (chunk.count + next.count <= IntChunk.CAPACITY) {
+            // MERGE: both fit into one chunk; absorb the next chunk completely.
+            System.arraycopy(next.values, 0, chunk.values, chunk.count, next.count);
+            chunk.count += next.count;
+            chunk.next = next.next;
+            if (tail == next) {
+                tail = chunk;
+            }
+        } else {
+            // BORROW: take just enough values from the front of the next chunk to be half full again.
+            int moved = MIN_FILL - chunk.count;
+            System.arraycopy(next.values, 0, chunk.values, chunk.count, moved);
+            System.arraycopy(next.values, moved, next.values, 0, next.count - moved);
+            chunk.count += moved;
+            next.count -= moved;
+        }
+    }
+
+    // -------------------------------
+    // 3. Traversal Methods
+    // -------------------------------
+
+    // Print all values in the list.
+    public void printList() {
+        StringBuilder out = new StringBuilder();
+        for (IntChunk chunk = head; chunk != null; chunk = chunk.next) {
+            for (int i = 0; i < chunk.count; i++) {
+                out.append(chunk.values[i]).append(" -> ");
+            }
+        }
+        System.out.println(out.append("null"));
+    }
+
+    // Return the number of values in the list.
+    public int size() {
+        return size;
+    }
+
+    // Return the number of chunks (nodes) in the list.
+    public int chunkCount() {
+        int chunks = 0;
+        for (IntChunk chunk = head; chunk != null; chunk = chunk.next) {
+            chunks++;
+        }
+        return chunks;
+    }
+
+    // -------------------------------
+    // 4. Reverse the List
+    // -------------------------------
+
+    // Reverse the list in place: reverse the order of the chunks, and the values inside each chunk.
+    public void reverse() {
+        IntChunk prev = null;
+        IntChunk current = head;
+        tail = head;
+        while (current != null) {
+            for (int i = 0, j = current.count - 1; i < j; i++, j--) {
+                int temp = current.values[i];
+                current.values[i] = current.values[j];
+                current.values[j] = temp;
+            }
+            IntChunk nextTemp = current.next;
+            current.next = prev;
+            prev = current;
+            current = nextTemp;
+        }
+        head = prev;
+    }
+
+    // -------------------------------
+    // 5. Demonstration
+    // -------------------------------
+    public static void main(String[] args) {
+        // The same steps as DDetailedLinkedListExample, with the same output.
+        UnrolledLinkedList list = new UnrolledLinkedList();
+        list.insertAtTail(10);
+        list.insertAtTail(20);
+        list.insertAtTail(30);
+        list.insertAtHead(5);
+        list.insertAfter(10, 15);
+        list.delete(20);
+        list.printList();  // Expected output: 5 -> 10 -> 15 -> 30 -> null
+        list.reverse();
+        list.printList();  // Expected output: 30 -> 15 -> 10 -> 5 -> null
+
+        // See DDetailedLinkedListExample for a memory and traversal-speed comparison with LinkedList.
+
+        // -------------------------------------------------------------------------------------
+        // ADVANCED NOTES:
+        // -------------------------------------------------------------------------------------
+        // - Inserting in the middle shifts up to 63 ints inside one chunk; that is a single
+        //   System.arraycopy within one or two cache lines, far cheaper than a cache miss.
+        // - Bigger chunks are denser and faster to scan but make each insert/delete shift more.
+        // - The traversal gap is largest when the ListNodes are scattered over the heap, as they
+        //   are in long-running programs; freshly allocated nodes happen to lie next to each other.
+    }
+}